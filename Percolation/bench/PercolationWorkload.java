@@ -0,0 +1,84 @@
+import java.util.SplittableRandom;
+
+import percolation.Workload;
+
+// Default-package side of percolation.PercolationBenchmark, with access to the
+// package-private SiteOrder and TrialEngine.
+public class PercolationWorkload implements Workload {
+    private int n;
+    private Percolation percolation;
+    private SiteOrder order;
+    private int[] sites;
+    private int next;
+    private BitPercolation bits;
+    private SiteOrder bitOrder;
+
+    @Override
+    public void grid(int n, long seed) {
+        this.n = n;
+        this.percolation = new Percolation(n);
+        this.order = new SiteOrder(n * n);
+        this.order.advance(new SplittableRandom(seed), n * n);
+        this.sites = this.order.sites().clone();
+        this.next = 0;
+    }
+
+    @Override
+    public int open() {
+        if (this.next == this.sites.length) {
+            this.percolation.reset();
+            this.next = 0;
+        }
+        int site = this.sites[this.next++];
+        this.percolation.open(site / this.n + 1, site % this.n + 1);
+        return this.percolation.numberOfOpenSites();
+    }
+
+    @Override
+    public void percolate() {
+        this.percolation.reset();
+        int from = 0;
+        while (!this.percolation.percolates()) {
+            this.percolation.openAll(this.sites, from, from + this.n);
+            from += this.n;
+        }
+    }
+
+    @Override
+    public boolean isFull(int row, int col) {
+        return this.percolation.isFull(row, col);
+    }
+
+    @Override
+    public int trial(long seed) {
+        this.percolation.reset();
+        this.order.reset();
+        SplittableRandom random = new SplittableRandom(seed);
+        int from = 0;
+        while (!this.percolation.percolates()) {
+            int to = this.order.advance(random, this.n);
+            this.percolation.openAll(this.order.sites(), from, to);
+            from = to;
+        }
+        return this.percolation.numberOfOpenSites();
+    }
+
+    @Override
+    public int bitTrial(int n, long seed) {
+        if (this.bits == null) {
+            this.bits = new BitPercolation(n);
+            this.bitOrder = new SiteOrder(n * n);
+        }
+        this.bits.reset();
+        this.bitOrder.reset();
+        SplittableRandom random = new SplittableRandom(seed);
+        int from = 0;
+        while (this.bits.openAll(this.bitOrder.sites(), from, this.bitOrder.advance(random, n)) < 0) from += n;
+        return this.bits.numberOfOpenSites();
+    }
+
+    @Override
+    public double stats(int n, long seed) {
+        return new PercolationStats(n, TrialEngine.BLOCK, seed, 1).mean();
+    }
+}
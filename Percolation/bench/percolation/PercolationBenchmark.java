@@ -0,0 +1,142 @@
+package percolation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PercolationBenchmark {
+    private static final long SEED = 42L;
+
+    @State(Scope.Thread)
+    public static class Grid {
+        @Param({"64", "256", "1024", "4096", "8192"})
+        int n;
+
+        Workload workload;
+        long next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            this.workload = Workload.create();
+            this.workload.grid(this.n, SEED);
+            this.next = 0;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Percolated {
+        @Param({"64", "256", "1024", "4096", "8192"})
+        int n;
+
+        Workload workload;
+        int[] rows;
+        int[] cols;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            this.workload = Workload.create();
+            this.workload.grid(this.n, SEED);
+            this.workload.percolate();
+
+            SplittableRandom random = new SplittableRandom(SEED);
+            this.rows = new int[1 << 16];
+            this.cols = new int[1 << 16];
+            for (int i = 0; i < this.rows.length; i++) {
+                this.rows[i] = random.nextInt(this.n) + 1;
+                this.cols[i] = random.nextInt(this.n) + 1;
+            }
+            this.next = 0;
+        }
+    }
+
+    // grids PercolationStats runs on BitPercolation instead of union-find
+    @State(Scope.Thread)
+    public static class Small {
+        @Param({"16", "32", "64"})
+        int n;
+
+        Workload workload;
+        long next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            this.workload = Workload.create();
+            this.next = 0;
+        }
+    }
+
+    // opens the next site of a fixed permutation; a full grid is reset in place,
+    // so the reset cost is amortised over n * n opens
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int open(Grid grid) {
+        return grid.workload.open();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean isFull(Percolated state) {
+        int i = state.next++ & (state.rows.length - 1);
+        return state.workload.isFull(state.rows[i], state.cols[i]);
+    }
+
+    // one union-find trial on a reused grid, as a PercolationStats worker runs it for n > 64
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int trial(Grid grid) {
+        return grid.workload.trial(SEED + grid.next++);
+    }
+
+    // the same trial on BitPercolation, which PercolationStats uses for n <= 64
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int bitTrial(Small small) {
+        return small.workload.bitTrial(small.n, SEED + small.next++);
+    }
+
+    // end-to-end PercolationStats run, including allocation and the worker pool; it takes
+    // the BitPercolation path at n = 64 and the union-find path above
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public double stats(Grid grid) {
+        return grid.workload.stats(grid.n, SEED);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PercolationBenchmark.class.getName())
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(args.length > 0 ? args[0] : "percolation-benchmark.json")
+                .build();
+
+        new Runner(options).run();
+    }
+}
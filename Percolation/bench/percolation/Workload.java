@@ -0,0 +1,34 @@
+package percolation;
+
+// What PercolationBenchmark measures. JMH only accepts benchmarks in a named package,
+// and a named package cannot refer to the default-package classes under test, so the
+// work is done by the default-package PercolationWorkload, looked up once by name.
+public interface Workload {
+    static Workload create() {
+        try {
+            return (Workload) Class.forName("PercolationWorkload").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("PercolationWorkload is not on the class path.", e);
+        }
+    }
+
+    // an empty n-by-n union-find grid and a fixed random order of all its sites
+    void grid(int n, long seed);
+
+    // opens the next site of the fixed order, resetting the grid once every site is open
+    int open();
+
+    // opens sites of the fixed order until the grid percolates
+    void percolate();
+
+    boolean isFull(int row, int col);
+
+    // one union-find PercolationStats trial on the reused grid
+    int trial(long seed);
+
+    // one BitPercolation trial on an n-by-n grid, n <= 64, as PercolationStats runs it
+    int bitTrial(int n, long seed);
+
+    // a single-threaded PercolationStats run of one block of trials
+    double stats(int n, long seed);
+}
@@ -0,0 +1,76 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+// Streaming mean/variance (Welford) that can be merged with another one (Chan et al.),
+// so partial results of independent workers combine without buffering the samples.
+public class Accumulator {
+    private long count;
+    private double mean;
+    private double m2;
+
+    public Accumulator() {
+    }
+
+    public Accumulator(Accumulator other) {
+        if (other == null) throw new IllegalArgumentException("Argument is 'null'.");
+
+        this.count = other.count;
+        this.mean = other.mean;
+        this.m2 = other.m2;
+    }
+
+    public void add(double value) {
+        this.count++;
+        double delta = value - this.mean;
+        this.mean += delta / this.count;
+        this.m2 += delta * (value - this.mean);
+    }
+
+    // floating point merges are not associative: merge in a fixed order for reproducible sums
+    public void merge(Accumulator other) {
+        if (other == null) throw new IllegalArgumentException("Argument is 'null'.");
+        if (other.count == 0) return;
+        if (this.count == 0) {
+            this.count = other.count;
+            this.mean = other.mean;
+            this.m2 = other.m2;
+            return;
+        }
+
+        long total = this.count + other.count;
+        double delta = other.mean - this.mean;
+        this.mean += delta * other.count / total;
+        this.m2 += other.m2 + delta * delta * ((double) this.count * other.count / total);
+        this.count = total;
+    }
+
+    void write(DataOutput out) throws IOException {
+        out.writeLong(this.count);
+        out.writeDouble(this.mean);
+        out.writeDouble(this.m2);
+    }
+
+    void read(DataInput in) throws IOException {
+        this.count = in.readLong();
+        this.mean = in.readDouble();
+        this.m2 = in.readDouble();
+    }
+
+    public long count() {
+        return this.count;
+    }
+
+    public double mean() {
+        return this.count == 0 ? Double.NaN : this.mean;
+    }
+
+    // sample variance, as StdStats.var computes it
+    public double var() {
+        return this.count < 2 ? Double.NaN : this.m2 / (this.count - 1);
+    }
+
+    public double stddev() {
+        return Math.sqrt(this.var());
+    }
+}
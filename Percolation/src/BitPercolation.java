@@ -0,0 +1,176 @@
+import java.util.Arrays;
+
+// Percolation for n <= 64 with one long per grid row. Sites are opened in bulk and
+// spanning is tested by a word-parallel flood fill: a carry chain spreads the full
+// sites along runs of open ones within a row, and rows pass them up and down until
+// nothing changes. Full sites only grow as sites open, so each fill starts from
+// the previous one.
+public class BitPercolation {
+    public static final int MAX_N = 64;
+
+    private final int n;
+    private final long reciprocal;
+    private final long[] open;
+    private final long[] full;
+    private final long[] savedOpen;
+    private final long[] savedFull;
+    private boolean dirty;
+
+    public BitPercolation(int n) {
+        if (n <= 0 || n > MAX_N) throw new IllegalArgumentException("Invalid 'n' = '" + n + "' value");
+
+        this.n = n;
+        // site / n as a multiply and shift, exact for every site index of a 64 x 64 grid
+        this.reciprocal = (1L << 32) / n + 1;
+        this.open = new long[n];
+        this.full = new long[n];
+        this.savedOpen = new long[n];
+        this.savedFull = new long[n];
+    }
+
+    public void reset() {
+        Arrays.fill(this.open, 0L);
+        Arrays.fill(this.full, 0L);
+        this.dirty = false;
+    }
+
+    private void validate(int row, int col) {
+        if (row > this.n || row < 1 || col > this.n || col < 1)
+            throw new IllegalArgumentException("Invalid 'col' and/or 'row' args.");
+    }
+
+    public void open(int row, int col) {
+        this.validate(row, col);
+        this.open[row - 1] |= 1L << (col - 1);
+        this.dirty = true;
+    }
+
+    // same contract as Percolation.openAll: opens 0-based row * n + col sites, stops at
+    // the one that makes the system percolate and returns its position, or -1
+    public int openAll(int[] sites, int from, int to) {
+        if (sites == null) throw new IllegalArgumentException("Argument is 'null'.");
+        if (from < 0 || to > sites.length || from > to)
+            throw new IllegalArgumentException("Invalid 'from' and/or 'to' args.");
+
+        int size = this.n * this.n;
+        for (int i = from; i < to; i++)
+            if (sites[i] < 0 || sites[i] >= size)
+                throw new IllegalArgumentException("Invalid site '" + sites[i] + "' at " + i + ".");
+
+        if (from == to) return -1;
+        if (this.percolates()) {
+            this.set(sites, from, from + 1);
+            return from;
+        }
+
+        System.arraycopy(this.open, 0, this.savedOpen, 0, this.n);
+        System.arraycopy(this.full, 0, this.savedFull, 0, this.n);
+        this.set(sites, from, to);
+        if (!this.percolates()) return -1;
+
+        // the batch percolates: bisect for the first site that makes it so
+        int lo = from;
+        int hi = to - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            this.restore();
+            this.set(sites, from, mid + 1);
+            if (this.percolates()) hi = mid;
+            else lo = mid + 1;
+        }
+
+        this.restore();
+        this.set(sites, from, lo + 1);
+        this.flood();
+        return lo;
+    }
+
+    private void set(int[] sites, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int site = sites[i];
+            int row = (int) ((site * this.reciprocal) >>> 32);
+            this.open[row] |= 1L << (site - row * this.n);
+        }
+        this.dirty = true;
+    }
+
+    private void restore() {
+        System.arraycopy(this.savedOpen, 0, this.open, 0, this.n);
+        System.arraycopy(this.savedFull, 0, this.full, 0, this.n);
+    }
+
+    // bits of 'open' reachable from 'seed' along runs of open bits: the carry of the
+    // addition spreads towards higher positions, a Kogge-Stone fill towards lower ones
+    private static long spread(long open, long seed) {
+        seed &= open;
+        long up = (((open + seed) ^ open) | seed) & open;
+        long down = seed;
+        long run = open;
+        down |= run & (down >>> 1);
+        run &= run >>> 1;
+        down |= run & (down >>> 2);
+        run &= run >>> 2;
+        down |= run & (down >>> 4);
+        run &= run >>> 4;
+        down |= run & (down >>> 8);
+        run &= run >>> 8;
+        down |= run & (down >>> 16);
+        run &= run >>> 16;
+        down |= run & (down >>> 32);
+        return up | down;
+    }
+
+    // any path from the top crosses every row above it, so full rows always form a
+    // prefix of the grid and the sweeps stop at its end
+    private void flood() {
+        if (!this.dirty) return;
+
+        boolean changed;
+        do {
+            changed = false;
+            int last = 0;
+            for (int row = 0; row < this.n; row++) {
+                long seed = this.full[row] | (row == 0 ? this.open[0] : this.full[row - 1]);
+                if (row + 1 < this.n) seed |= this.full[row + 1];
+                long next = spread(this.open[row], seed);
+                if (next != this.full[row]) {
+                    this.full[row] = next;
+                    changed = true;
+                }
+                if (next == 0) break;
+                last = row;
+            }
+            for (int row = last - 1; row >= 0; row--) {
+                long next = spread(this.open[row], this.full[row] | this.full[row + 1]);
+                if (next != this.full[row]) {
+                    this.full[row] = next;
+                    changed = true;
+                }
+            }
+        } while (changed);
+
+        this.dirty = false;
+    }
+
+    public boolean isOpen(int row, int col) {
+        this.validate(row, col);
+        return (this.open[row - 1] & (1L << (col - 1))) != 0;
+    }
+
+    public boolean isFull(int row, int col) {
+        this.validate(row, col);
+        this.flood();
+        return (this.full[row - 1] & (1L << (col - 1))) != 0;
+    }
+
+    public int numberOfOpenSites() {
+        int count = 0;
+        for (long row : this.open) count += Long.bitCount(row);
+        return count;
+    }
+
+    public boolean percolates() {
+        this.flood();
+        return this.full[this.n - 1] != 0;
+    }
+}
@@ -0,0 +1,114 @@
+import java.util.Arrays;
+
+// Bond percolation on an n-by-n grid: every site is present and the bonds between
+// neighbouring sites open. Bonds are numbered 0-based, horizontal ones first:
+// the bond right of (row, col) is row * (n - 1) + col, the bond below (row, col)
+// is n * (n - 1) + row * n + col.
+public class BondPercolation {
+    private static final int TOPPED = 1;
+    private static final int BOTTOMED = 2;
+
+    private final int n;
+    private final int horizontal;
+    private final boolean[] bonds;
+    private final PercolationUF uf;
+    private int opened;
+    private boolean percolates;
+
+    public BondPercolation(int n) {
+        if (n <= 0 || (long) n * n > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Invalid 'n' = '" + n + "' value");
+
+        this.n = n;
+        this.horizontal = n * (n - 1);
+        this.bonds = new boolean[2 * this.horizontal];
+        this.uf = new PercolationUF(n * n);
+        this.fill();
+    }
+
+    private void fill() {
+        for (int i = 0; i < this.n; i++) {
+            this.uf.flag(i, TOPPED);
+            this.uf.flag(this.n * (this.n - 1) + i, BOTTOMED);
+        }
+
+        this.opened = 0;
+        this.percolates = this.uf.flags(0) == (TOPPED | BOTTOMED);
+    }
+
+    public void reset() {
+        Arrays.fill(this.bonds, false);
+        this.uf.reset();
+        this.fill();
+    }
+
+    private void validate(int row, int col, int rows, int cols) {
+        if (row > rows || row < 1 || col > cols || col < 1)
+            throw new IllegalArgumentException("Invalid 'col' and/or 'row' args.");
+    }
+
+    public int numberOfBonds() {
+        return this.bonds.length;
+    }
+
+    // opens the bond between (row, col) and (row, col + 1)
+    public void openRight(int row, int col) {
+        this.validate(row, col, this.n, this.n - 1);
+        this.openBond((row - 1) * (this.n - 1) + col - 1);
+    }
+
+    // opens the bond between (row, col) and (row + 1, col)
+    public void openDown(int row, int col) {
+        this.validate(row, col, this.n - 1, this.n);
+        this.openBond(this.horizontal + (row - 1) * this.n + col - 1);
+    }
+
+    public int openAll(int[] bonds, int from, int to) {
+        if (bonds == null) throw new IllegalArgumentException("Argument is 'null'.");
+        if (from < 0 || to > bonds.length || from > to)
+            throw new IllegalArgumentException("Invalid 'from' and/or 'to' args.");
+
+        for (int i = from; i < to; i++) {
+            int bond = bonds[i];
+            if (bond < 0 || bond >= this.bonds.length)
+                throw new IllegalArgumentException("Invalid bond '" + bond + "' at " + i + ".");
+
+            this.openBond(bond);
+            if (this.percolates) return i;
+        }
+
+        return -1;
+    }
+
+    private void openBond(int bond) {
+        if (this.bonds[bond]) return;
+        this.bonds[bond] = true;
+
+        int p;
+        int q;
+        if (bond < this.horizontal) {
+            p = bond / (this.n - 1) * this.n + bond % (this.n - 1);
+            q = p + 1;
+        } else {
+            p = bond - this.horizontal;
+            q = p + this.n;
+        }
+
+        int root = this.uf.merge(this.uf.find(p), q);
+        if (this.uf.flags(root) == (TOPPED | BOTTOMED)) this.percolates = true;
+        this.opened++;
+    }
+
+    public boolean isFull(int row, int col) {
+        this.validate(row, col, this.n, this.n);
+        return (this.uf.flags(this.uf.find((row - 1) * this.n + col - 1)) & TOPPED) != 0;
+    }
+
+    public int numberOfOpenBonds() {
+        return this.opened;
+    }
+
+    public boolean percolates() {
+        return this.percolates;
+    }
+}
@@ -0,0 +1,74 @@
+import edu.princeton.cs.algs4.StdRandom;
+import edu.princeton.cs.algs4.StdOut;
+
+public class BondPercolationStats {
+    private static final double FACTOR = 1.96D;
+
+    private final double mean;
+    private final double stddev;
+    private final double confLow;
+    private final double confHigh;
+
+    public BondPercolationStats(int n, int trials) {
+        this(n, trials, StdRandom.getSeed());
+    }
+
+    public BondPercolationStats(int n, int trials, long seed) {
+        this(n, trials, seed, Runtime.getRuntime().availableProcessors());
+    }
+
+    public BondPercolationStats(int n, int trials, long seed, int threads) {
+        if (n <= 1 || trials <= 0) throw new IllegalArgumentException("Invalid constructor arguments");
+
+        Accumulator data = new TrialEngine(threads).run(() -> {
+            BondPercolation percolation = new BondPercolation(n);
+            SiteOrder order = new SiteOrder(percolation.numberOfBonds());
+            return random -> {
+                percolation.reset();
+                order.reset();
+                int from = 0;
+                while (!percolation.percolates()) {
+                    int to = order.advance(random, n);
+                    percolation.openAll(order.sites(), from, to);
+                    from = to;
+                }
+
+                return (double) percolation.numberOfOpenBonds() / percolation.numberOfBonds();
+            };
+        }, trials, seed);
+
+        this.mean = data.mean();
+        this.stddev = data.stddev();
+        this.confLow = this.mean - this.stddev * FACTOR / Math.sqrt(trials);
+        this.confHigh = this.mean + this.stddev * FACTOR / Math.sqrt(trials);
+    }
+
+    public double mean() {
+        return this.mean;
+    }
+
+    public double stddev() {
+        return this.stddev;
+    }
+
+    public double confidenceLo() {
+        return this.confLow;
+    }
+
+    public double confidenceHi() {
+        return this.confHigh;
+    }
+
+    public static void main(String[] args) {
+        int n = Integer.parseInt(args[0]);
+        int trials = Integer.parseInt(args[1]);
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : StdRandom.getSeed();
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        BondPercolationStats stats = new BondPercolationStats(n, trials, seed, threads);
+
+        StdOut.printf("%-23s = %.7f\n", "mean", stats.mean());
+        StdOut.printf("%-23s = %.16f\n", "stddev", stats.stddev());
+        StdOut.printf("%-23s = [%.16f, %.16f]\n", "95% confidence interval", stats.confidenceLo(), stats.confidenceHi());
+    }
+}
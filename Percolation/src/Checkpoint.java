@@ -0,0 +1,79 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+// Binary checkpoint of a TrialEngine run: the completed block count and the merged
+// accumulator. The RNG state is the seed plus that count, since block streams are
+// split off the seed in order, so a resumed run reproduces the same statistics.
+class Checkpoint {
+    private static final int MAGIC = 0x50435354;
+    private static final int VERSION = 1;
+
+    private final Path path;
+    private final long key;
+    private final long interval;
+    private long saved;
+
+    // 'key' identifies the experiment (e.g. the grid size) so a checkpoint of another run is rejected
+    Checkpoint(Path path, long key, long intervalMillis) {
+        if (path == null) throw new IllegalArgumentException("Argument is 'null'.");
+        if (intervalMillis < 0)
+            throw new IllegalArgumentException("Invalid 'interval' = '" + intervalMillis + "' value");
+
+        this.path = path;
+        this.key = key;
+        this.interval = intervalMillis;
+        this.saved = System.currentTimeMillis();
+    }
+
+    // loads the checkpoint into 'total' and returns the number of completed blocks, 0 if there is none
+    int restore(long seed, int trials, Accumulator total) {
+        if (!Files.exists(this.path)) return 0;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION)
+                throw new IllegalArgumentException("Not a checkpoint: '" + this.path + "'.");
+            if (in.readLong() != this.key || in.readLong() != seed || in.readInt() != trials)
+                throw new IllegalArgumentException("Checkpoint '" + this.path + "' belongs to another run.");
+
+            int done = in.readInt();
+            total.read(in);
+            return done;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void update(long seed, int trials, int done, Accumulator total) {
+        long now = System.currentTimeMillis();
+        if (now - this.saved < this.interval) return;
+
+        this.save(seed, trials, done, total);
+        this.saved = now;
+    }
+
+    // written to a sibling file and moved over, so a preempted write never leaves a torn checkpoint
+    void save(long seed, int trials, int done, Accumulator total) {
+        Path temporary = this.path.resolveSibling(this.path.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(this.key);
+                out.writeLong(seed);
+                out.writeInt(trials);
+                out.writeInt(done);
+                total.write(out);
+            }
+            Files.move(temporary, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
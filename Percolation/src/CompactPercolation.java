@@ -0,0 +1,175 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Percolation for grids of up to 65535 x 65535 sites. Open/flag state is kept in
+// on-heap bitsets and union-find parents in off-heap (or memory-mapped) unsigned
+// ints, about 4.4 bytes per site. Roots point to themselves; linking is by a
+// pseudo-random site priority, which needs no rank or size storage.
+public class CompactPercolation {
+    public static final int MAX_N = 65535;
+    private static final int SEGMENT_BITS = 28;
+    private static final int SEGMENT_MASK = (1 << SEGMENT_BITS) - 1;
+
+    private final int n;
+    private final long sites;
+    private final long[] open;
+    private final long[] topped;
+    private final long[] bottomed;
+    private final IntBuffer[] parents;
+    private long opened;
+    private boolean percolates;
+
+    public CompactPercolation(int n) {
+        this.n = validated(n);
+        this.sites = (long) n * n;
+        this.open = bitset(this.sites);
+        this.topped = bitset(this.sites);
+        this.bottomed = bitset(this.sites);
+        this.parents = new IntBuffer[segments(this.sites)];
+        for (int i = 0; i < this.parents.length; i++)
+            this.parents[i] = ByteBuffer.allocateDirect(segmentBytes(this.sites, i))
+                    .order(ByteOrder.nativeOrder()).asIntBuffer();
+        this.fill();
+    }
+
+    // keeps the parents in 'file' instead of direct memory, so the OS can page them out
+    public CompactPercolation(int n, Path file) throws IOException {
+        this.n = validated(n);
+        this.sites = (long) n * n;
+        this.open = bitset(this.sites);
+        this.topped = bitset(this.sites);
+        this.bottomed = bitset(this.sites);
+        this.parents = new IntBuffer[segments(this.sites)];
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            for (int i = 0; i < this.parents.length; i++)
+                this.parents[i] = channel.map(FileChannel.MapMode.READ_WRITE, (long) i << (SEGMENT_BITS + 2),
+                        segmentBytes(this.sites, i)).order(ByteOrder.nativeOrder()).asIntBuffer();
+        }
+        this.fill();
+    }
+
+    private static int validated(int n) {
+        if (n <= 0 || n > MAX_N) throw new IllegalArgumentException("Invalid 'n' = '" + n + "' value");
+        return n;
+    }
+
+    private static long[] bitset(long size) {
+        return new long[(int) ((size + 63) >>> 6)];
+    }
+
+    private static int segments(long size) {
+        return (int) ((size + SEGMENT_MASK) >>> SEGMENT_BITS);
+    }
+
+    private static int segmentBytes(long size, int segment) {
+        return (int) Math.min(1L << SEGMENT_BITS, size - ((long) segment << SEGMENT_BITS)) * Integer.BYTES;
+    }
+
+    private void fill() {
+        for (long i = 0; i < this.sites; i++) this.setParent(i, i);
+        for (long i = 0; i < this.n; i++) {
+            set(this.topped, i);
+            set(this.bottomed, this.sites - this.n + i);
+        }
+    }
+
+    private static boolean get(long[] bits, long i) {
+        return (bits[(int) (i >>> 6)] & (1L << i)) != 0;
+    }
+
+    private static void set(long[] bits, long i) {
+        bits[(int) (i >>> 6)] |= 1L << i;
+    }
+
+    private long parent(long i) {
+        return this.parents[(int) (i >>> SEGMENT_BITS)].get((int) (i & SEGMENT_MASK)) & 0xFFFFFFFFL;
+    }
+
+    private void setParent(long i, long parent) {
+        this.parents[(int) (i >>> SEGMENT_BITS)].put((int) (i & SEGMENT_MASK), (int) parent);
+    }
+
+    private static int priority(long site) {
+        long h = site * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 29));
+    }
+
+    private long find(long p) {
+        long parent;
+        while ((parent = this.parent(p)) != p) {
+            long grand = this.parent(parent);
+            this.setParent(p, grand);
+            p = grand;
+        }
+        return p;
+    }
+
+    private long merge(long root, long p) {
+        long other = this.find(p);
+        if (other == root) return root;
+
+        int rootPriority = priority(root);
+        int otherPriority = priority(other);
+        if (rootPriority < otherPriority || (rootPriority == otherPriority && root < other)) {
+            long swap = root;
+            root = other;
+            other = swap;
+        }
+
+        this.setParent(other, root);
+        if (get(this.topped, other)) set(this.topped, root);
+        if (get(this.bottomed, other)) set(this.bottomed, root);
+        return root;
+    }
+
+    private long indexed(int row, int col) {
+        return (long) row * this.n + col;
+    }
+
+    private void validate(int row, int col) {
+        if (row > this.n || row < 1 || col > this.n || col < 1)
+            throw new IllegalArgumentException("Invalid 'col' and/or 'row' args.");
+    }
+
+    public void open(int row, int col) {
+        this.validate(row, col);
+
+        long index = this.indexed(row - 1, col - 1);
+        if (get(this.open, index)) return;
+        set(this.open, index);
+
+        long root = index;
+        if (row > 1 && get(this.open, index - this.n)) root = this.merge(root, index - this.n);
+        if (row < this.n && get(this.open, index + this.n)) root = this.merge(root, index + this.n);
+        if (col > 1 && get(this.open, index - 1)) root = this.merge(root, index - 1);
+        if (col < this.n && get(this.open, index + 1)) root = this.merge(root, index + 1);
+
+        if (get(this.topped, root) && get(this.bottomed, root)) this.percolates = true;
+        this.opened++;
+    }
+
+    public boolean isOpen(int row, int col) {
+        this.validate(row, col);
+        return get(this.open, this.indexed(row - 1, col - 1));
+    }
+
+    public boolean isFull(int row, int col) {
+        this.validate(row, col);
+        long index = this.indexed(row - 1, col - 1);
+        return get(this.open, index) && get(this.topped, this.find(index));
+    }
+
+    public long numberOfOpenSites() {
+        return this.opened;
+    }
+
+    public boolean percolates() {
+        return this.percolates;
+    }
+}
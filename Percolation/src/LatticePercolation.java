@@ -0,0 +1,135 @@
+import java.util.Arrays;
+
+// Percolation from the first to the last row of a width x height (x depth) lattice.
+// The lattice is padded with a border of sites that never open, so every
+// neighbour is a fixed offset from the site and 'open' needs no bounds checks.
+public class LatticePercolation {
+    private static final byte ACTIVE = 1;
+    private static final int TOPPED = 1;
+    private static final int BOTTOMED = 2;
+
+    private final int width;
+    private final int height;
+    private final int depth;
+    private final int rowStride;
+    private final int layerStride;
+    private final int layerPadding;
+    private final int[] offsets;
+    private final byte[] grid;
+    private final PercolationUF uf;
+    private int opened;
+    private boolean percolates;
+
+    public LatticePercolation(int width, int height, Neighbourhood neighbourhood) {
+        this(width, height, 1, neighbourhood);
+    }
+
+    public LatticePercolation(int width, int height, int depth, Neighbourhood neighbourhood) {
+        if (width <= 0 || height <= 0 || depth <= 0)
+            throw new IllegalArgumentException("Invalid lattice size " + width + "x" + height + "x" + depth);
+        if (neighbourhood == null) throw new IllegalArgumentException("Argument is 'null'.");
+
+        this.width = width;
+        this.height = height;
+        this.depth = depth;
+        this.layerPadding = depth == 1 ? 0 : 1;
+        this.rowStride = width + 2;
+        this.layerStride = this.rowStride * (height + 2);
+
+        long size = (long) this.layerStride * (depth + 2 * this.layerPadding);
+        if (size > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Invalid lattice size " + width + "x" + height + "x" + depth);
+
+        int[] offsets = new int[26];
+        int count = 0;
+        for (int dz = -this.layerPadding; dz <= this.layerPadding; dz++)
+            for (int dy = -1; dy <= 1; dy++)
+                for (int dx = -1; dx <= 1; dx++)
+                    if (neighbourhood.includes(dx, dy, dz))
+                        offsets[count++] = dz * this.layerStride + dy * this.rowStride + dx;
+        this.offsets = Arrays.copyOf(offsets, count);
+
+        this.grid = new byte[(int) size];
+        this.uf = new PercolationUF((int) size);
+        this.fill();
+    }
+
+    private void fill() {
+        Arrays.fill(this.grid, (byte) 0);
+        for (int z = 0; z < this.depth; z++) {
+            for (int x = 0; x < this.width; x++) {
+                this.uf.flag(this.indexed(0, x, z), TOPPED);
+                this.uf.flag(this.indexed(this.height - 1, x, z), BOTTOMED);
+            }
+        }
+
+        this.opened = 0;
+        this.percolates = false;
+    }
+
+    public void reset() {
+        this.uf.reset();
+        this.fill();
+    }
+
+    private int indexed(int row, int col, int layer) {
+        return ((layer + this.layerPadding) * (this.height + 2) + row + 1) * this.rowStride + col + 1;
+    }
+
+    private void validate(int row, int col, int layer) {
+        if (row > this.height || row < 1 || col > this.width || col < 1 || layer > this.depth || layer < 1)
+            throw new IllegalArgumentException("Invalid 'col', 'row' and/or 'layer' args.");
+    }
+
+    public int neighbours() {
+        return this.offsets.length;
+    }
+
+    public void open(int row, int col) {
+        this.open(row, col, 1);
+    }
+
+    public void open(int row, int col, int layer) {
+        this.validate(row, col, layer);
+
+        int index = this.indexed(row - 1, col - 1, layer - 1);
+        if (this.grid[index] != 0) return;
+        this.grid[index] = ACTIVE;
+
+        int root = index;
+        for (int offset : this.offsets) {
+            int neighbour = index + offset;
+            if (this.grid[neighbour] != 0) root = this.uf.merge(root, neighbour);
+        }
+
+        if (this.uf.flags(root) == (TOPPED | BOTTOMED)) this.percolates = true;
+        this.opened++;
+    }
+
+    public boolean isOpen(int row, int col) {
+        return this.isOpen(row, col, 1);
+    }
+
+    public boolean isOpen(int row, int col, int layer) {
+        this.validate(row, col, layer);
+        return this.grid[this.indexed(row - 1, col - 1, layer - 1)] != 0;
+    }
+
+    public boolean isFull(int row, int col) {
+        return this.isFull(row, col, 1);
+    }
+
+    public boolean isFull(int row, int col, int layer) {
+        this.validate(row, col, layer);
+        int index = this.indexed(row - 1, col - 1, layer - 1);
+        return this.grid[index] != 0 && (this.uf.flags(this.uf.find(index)) & TOPPED) != 0;
+    }
+
+    public int numberOfOpenSites() {
+        return this.opened;
+    }
+
+    public boolean percolates() {
+        return this.percolates;
+    }
+}
@@ -0,0 +1,11 @@
+public enum Neighbourhood {
+    // 4 neighbours in 2D, 6 in 3D
+    VON_NEUMANN,
+    // 8 neighbours in 2D, 26 in 3D
+    MOORE;
+
+    boolean includes(int dx, int dy, int dz) {
+        int distance = Math.abs(dx) + Math.abs(dy) + Math.abs(dz);
+        return distance != 0 && (this == MOORE || distance == 1);
+    }
+}
@@ -0,0 +1,130 @@
+import edu.princeton.cs.algs4.StdOut;
+import edu.princeton.cs.algs4.StdRandom;
+
+import java.util.SplittableRandom;
+
+// Newman-Ziff estimator: each trial opens every site of an n-by-n grid in random
+// order and records the observables after each single addition, which gives them
+// as functions of the number of open sites m. Values at an occupation probability
+// p are the binomial convolution of those curves.
+public class NewmanZiff {
+    private final int sites;
+    private final int trials;
+    private final double[] spanning;
+    private final double[] largest;
+    private final double[] clusters;
+    private final Accumulator threshold;
+
+    public NewmanZiff(int n, int trials) {
+        this(n, trials, StdRandom.getSeed());
+    }
+
+    public NewmanZiff(int n, int trials, long seed) {
+        if (n <= 0 || trials <= 0) throw new IllegalArgumentException("Invalid constructor arguments");
+
+        this.sites = n * n;
+        this.trials = trials;
+        this.spanning = new double[this.sites + 1];
+        this.largest = new double[this.sites + 1];
+        this.clusters = new double[this.sites + 1];
+        this.threshold = new Accumulator();
+
+        Percolation percolation = new Percolation(n);
+        SiteOrder order = new SiteOrder(this.sites);
+        SplittableRandom root = new SplittableRandom(seed);
+
+        for (int trial = 0; trial < trials; trial++) {
+            SplittableRandom random = root.split();
+            percolation.reset();
+            order.reset();
+
+            boolean percolated = false;
+            for (int m = 1; m <= this.sites; m++) {
+                percolation.openSite(order.next(random));
+
+                if (percolation.percolates()) {
+                    if (!percolated) this.threshold.add((double) m / this.sites);
+                    percolated = true;
+                    this.spanning[m]++;
+                }
+                this.largest[m] += percolation.largestClusterSize();
+                this.clusters[m] += percolation.numberOfClusters();
+            }
+        }
+    }
+
+    public double percolationThreshold() {
+        return this.threshold.mean();
+    }
+
+    public double spanningProbability(int m) {
+        return this.microcanonical(this.spanning, m);
+    }
+
+    public double spanningProbability(double p) {
+        return this.canonical(this.spanning, p);
+    }
+
+    public double largestCluster(int m) {
+        return this.microcanonical(this.largest, m);
+    }
+
+    public double largestCluster(double p) {
+        return this.canonical(this.largest, p);
+    }
+
+    public double clusterCount(int m) {
+        return this.microcanonical(this.clusters, m);
+    }
+
+    public double clusterCount(double p) {
+        return this.canonical(this.clusters, p);
+    }
+
+    private double microcanonical(double[] sums, int m) {
+        if (m < 0 || m > this.sites) throw new IllegalArgumentException("Invalid 'm' = '" + m + "' value");
+        return sums[m] / this.trials;
+    }
+
+    // binomial weights are built outwards from the mode by their ratios, then
+    // normalised, which avoids the under- and overflow of computing them directly
+    private double canonical(double[] sums, double p) {
+        if (!(p >= 0 && p <= 1)) throw new IllegalArgumentException("Invalid 'p' = '" + p + "' value");
+        if (p == 0) return this.microcanonical(sums, 0);
+        if (p == 1) return this.microcanonical(sums, this.sites);
+
+        int mode = (int) Math.min(this.sites, Math.floor((this.sites + 1) * p));
+        double odds = p / (1 - p);
+        double total = 1;
+        double value = sums[mode];
+
+        double weight = 1;
+        for (int m = mode; m < this.sites && weight > 0; m++) {
+            weight *= odds * (this.sites - m) / (m + 1);
+            total += weight;
+            value += weight * sums[m + 1];
+        }
+
+        weight = 1;
+        for (int m = mode; m > 0 && weight > 0; m--) {
+            weight *= m / (odds * (this.sites - m + 1));
+            total += weight;
+            value += weight * sums[m - 1];
+        }
+
+        return value / total / this.trials;
+    }
+
+    public static void main(String[] args) {
+        int n = Integer.parseInt(args[0]);
+        int trials = Integer.parseInt(args[1]);
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : StdRandom.getSeed();
+
+        NewmanZiff estimator = new NewmanZiff(n, trials, seed);
+
+        StdOut.printf("%-23s = %.7f\n", "threshold", estimator.percolationThreshold());
+        for (double p = 0.50; p <= 0.70 + 1e-9; p += 0.02)
+            StdOut.printf("p = %.2f  spanning = %.5f  largest = %12.2f  clusters = %12.2f\n", p,
+                    estimator.spanningProbability(p), estimator.largestCluster(p), estimator.clusterCount(p));
+    }
+}
@@ -1,36 +1,51 @@
-import edu.princeton.cs.algs4.WeightedQuickUnionUF;
 import edu.princeton.cs.algs4.StdIn;
 import edu.princeton.cs.algs4.StdOut;
 
+import java.util.Arrays;
+
 public class Percolation {
     private final byte[] grid;
-    private final WeightedQuickUnionUF uf;
+    private final PercolationUF uf;
     private int opened;
     private boolean percolates;
     private final int n;
+    private int[] stack;
+    private long redundantOpens;
 
     private class State {
         private static final byte TOPPED = 1;
         private static final byte BOTTOMED = 2;
         private static final byte ACTIVE = 4;
+        private static final byte FULL = 8;
     }
 
     public Percolation(int n) {
-        if (n <= 0) throw new IllegalArgumentException("Invalid 'n' = '" + n + "' value");
+        if (n <= 0 || (long) n * n > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Invalid 'n' = '" + n + "' value");
 
         this.n = n;
         this.grid = new byte[n * n];
-        for (int i = 0; i < this.grid.length; i++) {
-            byte topped = i < n ? State.TOPPED : 0;
-            byte bottomed = i >= this.grid.length - n ? State.BOTTOMED : 0;
-            this.grid[i] = (byte) (topped | bottomed);
+        this.uf = new PercolationUF(n * n);
+        this.fill();
+    }
+
+    private void fill() {
+        Arrays.fill(this.grid, (byte) 0);
+        for (int i = 0; i < this.n; i++) {
+            this.uf.flag(i, State.TOPPED);
+            this.uf.flag(this.grid.length - this.n + i, State.BOTTOMED);
         }
 
-        this.uf = new WeightedQuickUnionUF(n * n);
         this.opened = 0;
         this.percolates = false;
     }
 
+    // blocks every site again without reallocating, so one instance can serve many trials
+    public void reset() {
+        this.uf.reset();
+        this.fill();
+    }
+
     private int indexed(int row, int col) {
         return row * this.n + col;
     }
@@ -42,55 +57,60 @@ public class Percolation {
 
     public void open(int row, int col) {
         this.validate(row, col);
+        this.openSite(this.indexed(row - 1, col - 1));
+    }
 
-        int index = this.indexed(row - 1, col - 1);
+    // opens 0-based flat site indices (row * n + col) and stops as soon as the
+    // system percolates, returning the position of that site or -1 if it never did
+    public int openAll(int[] sites) {
+        if (sites == null) throw new IllegalArgumentException("Argument is 'null'.");
+        return this.openAll(sites, 0, sites.length);
+    }
+
+    public int openAll(int[] sites, int from, int to) {
+        if (sites == null) throw new IllegalArgumentException("Argument is 'null'.");
+        if (from < 0 || to > sites.length || from > to)
+            throw new IllegalArgumentException("Invalid 'from' and/or 'to' args.");
+
+        for (int i = from; i < to; i++) {
+            int index = sites[i];
+            if (index < 0 || index >= this.grid.length)
+                throw new IllegalArgumentException("Invalid site '" + index + "' at " + i + ".");
+
+            this.openSite(index);
+            if (this.percolates) return i;
+        }
+
+        return -1;
+    }
+
+    void openSite(int index) {
         if ((this.grid[index] & State.ACTIVE) == 0) {
             this.grid[index] |= State.ACTIVE;
 
+            int col = index % this.n;
             int up = index - this.n;
             int down = index + this.n;
             int left = index - 1;
             int right = index + 1;
-            int topped = this.grid[index] & State.TOPPED;
-            int bottomed = this.grid[index] & State.BOTTOMED;
-            boolean changed = false;
-
-            if (up >= 0 && (this.grid[up] & State.ACTIVE) != 0) {
-                int root = this.uf.find(up);
-                topped |= this.grid[root] & State.TOPPED;
-                bottomed |= this.grid[root] & State.BOTTOMED;
-                this.uf.union(index, up);
-                changed = true;
-            }
-            if (down < this.grid.length && (this.grid[down] & State.ACTIVE) != 0) {
-                int root = this.uf.find(down);
-                topped |= this.grid[root] & State.TOPPED;
-                bottomed |= this.grid[root] & State.BOTTOMED;
-                this.uf.union(index, down);
-                changed = true;
-            }
-            if (col > 1 && (this.grid[left] & State.ACTIVE) != 0) {
-                int root = this.uf.find(left);
-                topped |= this.grid[root] & State.TOPPED;
-                bottomed |= this.grid[root] & State.BOTTOMED;
-                this.uf.union(index, left);
-                changed = true;
-            }
-            if (col < this.n && (this.grid[right] & State.ACTIVE) != 0) {
-                int root = this.uf.find(right);
-                topped |= this.grid[root] & State.TOPPED;
-                bottomed |= this.grid[root] & State.BOTTOMED;
-                this.uf.union(index, right);
-                changed = true;
-            }
-
-            if (changed) {
-                int root = this.uf.find(index);
-                this.grid[root] |= bottomed | topped;
-            }
-            if (bottomed != 0 && topped != 0) this.percolates = true;
+            // a closed site is never linked, so the freshly opened one is its own root
+            int root = index;
+            if (up >= 0 && (this.grid[up] & State.ACTIVE) != 0)
+                root = this.uf.merge(root, up);
+            if (down < this.grid.length && (this.grid[down] & State.ACTIVE) != 0)
+                root = this.uf.merge(root, down);
+            if (col > 0 && (this.grid[left] & State.ACTIVE) != 0)
+                root = this.uf.merge(root, left);
+            if (col < this.n - 1 && (this.grid[right] & State.ACTIVE) != 0)
+                root = this.uf.merge(root, right);
+
+            int flags = this.uf.flags(root);
+            if (flags == (State.TOPPED | State.BOTTOMED)) this.percolates = true;
+            if (this.stack != null && (flags & State.TOPPED) != 0) this.fillFull(index);
 
             this.opened++;
+        } else if (PercolationCounters.ENABLED) {
+            this.redundantOpens++;
         }
     }
 
@@ -102,9 +122,43 @@ public class Percolation {
 
     public boolean isFull(int row, int col) {
         this.validate(row, col);
-        int index = this.indexed(row - 1, col - 1);
-        int root = this.uf.find(index);
-        return (this.grid[index] & State.ACTIVE) != 0 && (this.grid[root] & State.TOPPED) != 0;
+        if (this.stack == null) this.trackFull();
+        return (this.grid[this.indexed(row - 1, col - 1)] & State.FULL) != 0;
+    }
+
+    // the FULL bits are only maintained once 'isFull' has been asked, so trials
+    // that never query them don't pay for the flood fills
+    private void trackFull() {
+        this.stack = new int[this.grid.length];
+        for (int i = 0; i < this.grid.length; i++) {
+            if ((this.grid[i] & State.ACTIVE) != 0 && (this.uf.flags(this.uf.find(i)) & State.TOPPED) != 0)
+                this.grid[i] |= State.FULL;
+        }
+    }
+
+    // a site becomes full at most once, so the flood fills cost O(n^2) over a whole run
+    private void fillFull(int index) {
+        if ((this.grid[index] & State.FULL) != 0) return;
+
+        int size = 0;
+        this.grid[index] |= State.FULL;
+        this.stack[size++] = index;
+        while (size > 0) {
+            int site = this.stack[--size];
+            int col = site % this.n;
+            if (site >= this.n) size = this.pushFull(site - this.n, size);
+            if (site + this.n < this.grid.length) size = this.pushFull(site + this.n, size);
+            if (col > 0) size = this.pushFull(site - 1, size);
+            if (col < this.n - 1) size = this.pushFull(site + 1, size);
+        }
+    }
+
+    private int pushFull(int site, int size) {
+        if ((this.grid[site] & (State.ACTIVE | State.FULL)) != State.ACTIVE) return size;
+
+        this.grid[site] |= State.FULL;
+        this.stack[size] = site;
+        return size + 1;
     }
 
     public int numberOfOpenSites() {
@@ -115,6 +169,28 @@ public class Percolation {
         return this.percolates;
     }
 
+    // all zero unless counters are enabled; they add up over resets
+    public PercolationCounters counters() {
+        return this.uf.counters(this.redundantOpens);
+    }
+
+    // every closed site is still a singleton component of the union-find
+    public int numberOfClusters() {
+        return this.uf.count() - (this.grid.length - this.opened);
+    }
+
+    public int largestClusterSize() {
+        return this.opened == 0 ? 0 : this.uf.largest();
+    }
+
+    // element 's' is the number of open clusters of 's' sites, up to the largest one
+    public int[] clusterSizeHistogram() {
+        int largest = this.largestClusterSize();
+        int[] histogram = Arrays.copyOf(this.uf.histogram(), largest + 1);
+        if (largest > 0) histogram[1] -= this.grid.length - this.opened;
+        return histogram;
+    }
+
     public static void main(String[] args) {
         Percolation percolation = new Percolation(StdIn.readInt());
 
@@ -0,0 +1,66 @@
+// Union-find and open statistics of Percolation instances. They are only collected
+// when the JVM runs with -Dpercolation.counters=true; the flag is a static final
+// constant, so with it off the JIT drops the counting code altogether.
+public class PercolationCounters {
+    static final boolean ENABLED = Boolean.getBoolean("percolation.counters");
+
+    private long finds;
+    private long unions;
+    private long pathLength;
+    private int maxDepth;
+    private long redundantOpens;
+
+    PercolationCounters() {
+    }
+
+    PercolationCounters(long finds, long unions, long pathLength, int maxDepth, long redundantOpens) {
+        this.finds = finds;
+        this.unions = unions;
+        this.pathLength = pathLength;
+        this.maxDepth = maxDepth;
+        this.redundantOpens = redundantOpens;
+    }
+
+    public static boolean enabled() {
+        return ENABLED;
+    }
+
+    public void add(PercolationCounters other) {
+        if (other == null) throw new IllegalArgumentException("Argument is 'null'.");
+
+        this.finds += other.finds;
+        this.unions += other.unions;
+        this.pathLength += other.pathLength;
+        this.maxDepth = Math.max(this.maxDepth, other.maxDepth);
+        this.redundantOpens += other.redundantOpens;
+    }
+
+    public long finds() {
+        return this.finds;
+    }
+
+    public long unions() {
+        return this.unions;
+    }
+
+    // parent links followed by all finds
+    public long pathLength() {
+        return this.pathLength;
+    }
+
+    // longest path a single find walked
+    public int maxDepth() {
+        return this.maxDepth;
+    }
+
+    // 'open' calls on sites that were already open
+    public long redundantOpens() {
+        return this.redundantOpens;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("finds = %d, unions = %d, path length = %d, max depth = %d, redundant opens = %d",
+                this.finds, this.unions, this.pathLength, this.maxDepth, this.redundantOpens);
+    }
+}
@@ -1,36 +1,140 @@
-import edu.princeton.cs.algs4.StdStats;
 import edu.princeton.cs.algs4.StdRandom;
 import edu.princeton.cs.algs4.StdOut;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
 public class PercolationStats {
     private static final double FACTOR = 1.96D;
+    private static final long CHECKPOINT_INTERVAL = 60_000L;
 
     private final double mean;
     private final double stddev;
     private final double confLow;
     private final double confHigh;
+    private final int trials;
+    private final Accumulator data;
+    private final PercolationCounters counters;
 
     public PercolationStats(int n, int trials) {
+        this(n, trials, StdRandom.getSeed());
+    }
+
+    public PercolationStats(int n, int trials, long seed) {
+        this(n, trials, seed, Runtime.getRuntime().availableProcessors());
+    }
+
+    public PercolationStats(int n, int trials, long seed, int threads) {
+        this(n, trials, seed, threads, null);
+    }
+
+    // continues from 'checkpoint' if the file exists and rewrites it about once a minute
+    public PercolationStats(int n, int trials, long seed, int threads, Path checkpoint) {
+        this(n, trials, seed, threads, checkpoint, null);
+    }
+
+    // 'progress' receives the partial statistics after every completed block of trials
+    public PercolationStats(int n, int trials, long seed, int threads, Path checkpoint,
+                            Consumer<Accumulator> progress) {
         if (n <= 0 || trials <= 0) throw new IllegalArgumentException("Invalid constructor arguments");
 
-        double[] data = new double[trials];
+        List<Percolation> instances = Collections.synchronizedList(new ArrayList<>());
+        Accumulator data = new TrialEngine(threads).run(trialsOf(n, instances), trials, seed,
+                checkpoint == null ? null : new Checkpoint(checkpoint, n, CHECKPOINT_INTERVAL), progress);
+
+        this.data = data;
+        this.counters = sum(instances);
+        this.mean = data.mean();
+        this.stddev = data.stddev();
+        this.trials = trials;
+        this.confLow = this.mean - halfWidth(this.stddev, this.trials);
+        this.confHigh = this.mean + halfWidth(this.stddev, this.trials);
+    }
+
+    // adaptive mode: runs trials until the 95% confidence half-width drops below
+    // 'epsilon' or 'budgetMillis' runs out; 'trials()' reports how many were used, and
+    // is 0 (with NaN statistics) if the budget ends before the first block of trials
+    public PercolationStats(int n, double epsilon, long budgetMillis) {
+        this(n, epsilon, budgetMillis, StdRandom.getSeed(), Runtime.getRuntime().availableProcessors());
+    }
+
+    public PercolationStats(int n, double epsilon, long budgetMillis, long seed, int threads) {
+        if (n <= 0 || !(epsilon > 0) || budgetMillis <= 0)
+            throw new IllegalArgumentException("Invalid constructor arguments");
 
-        for (int i = 0; i < trials; i++) {
+        List<Percolation> instances = Collections.synchronizedList(new ArrayList<>());
+        Accumulator data = new TrialEngine(threads).run(trialsOf(n, instances), seed,
+                total -> total.count() > 1 && halfWidth(total.stddev(), total.count()) < epsilon, budgetMillis);
+
+        this.data = data;
+        this.counters = sum(instances);
+        this.mean = data.mean();
+        this.stddev = data.stddev();
+        this.trials = (int) data.count();
+        this.confLow = this.mean - halfWidth(this.stddev, this.trials);
+        this.confHigh = this.mean + halfWidth(this.stddev, this.trials);
+    }
+
+    private static double halfWidth(double stddev, long trials) {
+        return stddev * FACTOR / Math.sqrt(trials);
+    }
+
+    private static PercolationCounters sum(List<Percolation> instances) {
+        PercolationCounters total = new PercolationCounters();
+        for (Percolation percolation : instances) total.add(percolation.counters());
+        return total;
+    }
+
+    // the grids built for each worker go to 'instances', so their counters can be summed
+    private static Supplier<TrialEngine.Trial> trialsOf(int n, List<Percolation> instances) {
+        if (n <= BitPercolation.MAX_N) return () -> {
+            BitPercolation percolation = new BitPercolation(n);
+            SiteOrder order = new SiteOrder(n * n);
+            return random -> {
+                percolation.reset();
+                order.reset();
+                int from = 0;
+                while (percolation.openAll(order.sites(), from, order.advance(random, n)) < 0) from += n;
+
+                return (double) percolation.numberOfOpenSites() / (n * n);
+            };
+        };
+
+        return () -> {
             Percolation percolation = new Percolation(n);
+            instances.add(percolation);
+            SiteOrder order = new SiteOrder(n * n);
+            return random -> {
+                percolation.reset();
+                order.reset();
+                int from = 0;
+                while (!percolation.percolates()) {
+                    int to = order.advance(random, n);
+                    percolation.openAll(order.sites(), from, to);
+                    from = to;
+                }
+
+                return (double) percolation.numberOfOpenSites() / ((long) n * n);
+            };
+        };
+    }
 
-            while (!percolation.percolates()) {
-                int row = StdRandom.uniform(n) + 1;
-                int col = StdRandom.uniform(n) + 1;
-                percolation.open(row, col);
-            }
+    public int trials() {
+        return this.trials;
+    }
 
-            data[i] = (double) percolation.numberOfOpenSites() / (n * n);
-        }
+    public Accumulator accumulator() {
+        return new Accumulator(this.data);
+    }
 
-        this.mean = StdStats.mean(data);
-        this.stddev = StdStats.stddev(data);
-        this.confLow = this.mean - this.stddev * FACTOR / Math.sqrt(trials);
-        this.confHigh = this.mean + this.stddev * FACTOR / Math.sqrt(trials);
+    // union-find counters of all trials; BitPercolation trials (n <= 64) have none
+    public PercolationCounters counters() {
+        return this.counters;
     }
 
     public double mean() {
@@ -52,11 +156,15 @@ public class PercolationStats {
     public static void main(String[] args) {
         int n = Integer.parseInt(args[0]);
         int trials = Integer.parseInt(args[1]);
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : StdRandom.getSeed();
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        Path checkpoint = args.length > 4 ? Paths.get(args[4]) : null;
 
-        PercolationStats stats = new PercolationStats(n, trials);
+        PercolationStats stats = new PercolationStats(n, trials, seed, threads, checkpoint);
 
         StdOut.printf("%-23s = %.7f\n", "mean", stats.mean());
         StdOut.printf("%-23s = %.16f\n", "stddev", stats.stddev());
         StdOut.printf("%-23s = [%.16f, %.16f]\n", "95% confidence interval", stats.confidenceLo(), stats.confidenceHi());
+        if (PercolationCounters.enabled()) StdOut.printf("%-23s = %s\n", "counters", stats.counters());
     }
 }
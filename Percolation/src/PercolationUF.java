@@ -0,0 +1,146 @@
+import java.util.Arrays;
+
+// Weighted union-find with path halving, packed into a single int[]: a non-negative
+// entry is the parent, a root stores ~(size << 2 | flags) with two flag bits that
+// are OR-ed together on every union. Above PACKED_SIZE elements the size no longer
+// fits next to the flags, so a root stores ~flags and its size lives in 'sizes'.
+class PercolationUF {
+    static final int PACKED_SIZE = (1 << 29) - 1;
+    private static final int FLAGS = 3;
+    private static final int SINGLETON = ~(1 << 2);
+
+    private final int[] id;
+    private final int[] sizes;
+    private int count;
+    private int largest;
+    private int[] histogram;
+    private long finds;
+    private long unions;
+    private long pathLength;
+    private int maxDepth;
+
+    PercolationUF(int n) {
+        if (n <= 0) throw new IllegalArgumentException("Invalid 'n' = '" + n + "' value");
+
+        this.id = new int[n];
+        this.sizes = n > PACKED_SIZE ? new int[n] : null;
+        this.reset();
+    }
+
+    void reset() {
+        if (this.sizes == null) {
+            Arrays.fill(this.id, SINGLETON);
+        } else {
+            Arrays.fill(this.id, ~0);
+            Arrays.fill(this.sizes, 1);
+        }
+        this.count = this.id.length;
+        this.largest = 1;
+        if (this.histogram != null) {
+            Arrays.fill(this.histogram, 0);
+            this.histogram[1] = this.id.length;
+        }
+    }
+
+    int count() {
+        return this.count;
+    }
+
+    int largest() {
+        return this.largest;
+    }
+
+    // number of components of each size; built by one scan on first use, then kept up by 'merge'
+    int[] histogram() {
+        if (this.histogram == null) {
+            this.histogram = new int[this.id.length + 1];
+            for (int i = 0; i < this.id.length; i++)
+                if (this.id[i] < 0) this.histogram[this.size(i)]++;
+        }
+        return this.histogram;
+    }
+
+    void flag(int root, int flags) {
+        this.id[root] &= ~(flags & FLAGS);
+    }
+
+    int flags(int root) {
+        return ~this.id[root] & FLAGS;
+    }
+
+    int size(int root) {
+        return this.sizes == null ? ~this.id[root] >>> 2 : this.sizes[root];
+    }
+
+    int find(int p) {
+        if (PercolationCounters.ENABLED) return this.countedFind(p);
+
+        int parent;
+        while ((parent = this.id[p]) >= 0) {
+            int grand = this.id[parent];
+            if (grand < 0) return parent;
+            this.id[p] = grand;
+            p = grand;
+        }
+        return p;
+    }
+
+    private int countedFind(int p) {
+        int depth = 0;
+        int parent;
+        while ((parent = this.id[p]) >= 0) {
+            int grand = this.id[parent];
+            if (grand < 0) {
+                depth++;
+                p = parent;
+                break;
+            }
+            this.id[p] = grand;
+            p = grand;
+            depth += 2;
+        }
+
+        this.finds++;
+        this.pathLength += depth;
+        if (depth > this.maxDepth) this.maxDepth = depth;
+        return p;
+    }
+
+    // counters survive 'reset', so they add up over every trial an instance runs
+    PercolationCounters counters(long redundantOpens) {
+        return new PercolationCounters(this.finds, this.unions, this.pathLength, this.maxDepth, redundantOpens);
+    }
+
+    // links the component of 'p' into the component rooted at 'root' and returns the new root
+    int merge(int root, int p) {
+        int other = this.find(p);
+        if (other == root) return root;
+
+        int rootSize = this.size(root);
+        int otherSize = this.size(other);
+        int size = rootSize + otherSize;
+        int flags = (~this.id[root] | ~this.id[other]) & FLAGS;
+        int merged = this.sizes == null ? ~(size << 2 | flags) : ~flags;
+
+        this.count--;
+        if (PercolationCounters.ENABLED) this.unions++;
+        if (size > this.largest) this.largest = size;
+        if (this.histogram != null) {
+            this.histogram[rootSize]--;
+            this.histogram[otherSize]--;
+            this.histogram[size]++;
+        }
+
+        if (rootSize < otherSize) {
+            this.id[root] = other;
+            this.id[other] = merged;
+            if (this.sizes != null) this.sizes[other] = size;
+            return other;
+        }
+
+        this.id[other] = root;
+        this.id[root] = merged;
+        if (this.sizes != null) this.sizes[root] = size;
+        return root;
+    }
+}
@@ -0,0 +1,38 @@
+import java.util.SplittableRandom;
+
+class SiteOrder {
+    private final int[] sites;
+    private int next;
+
+    SiteOrder(int size) {
+        this.sites = new int[size];
+        this.reset();
+    }
+
+    // any arrangement would still give a uniform permutation, but restoring the
+    // identity keeps a trial's order independent of the trials run before it
+    void reset() {
+        for (int i = 0; i < this.sites.length; i++) this.sites[i] = i;
+        this.next = 0;
+    }
+
+    int next(SplittableRandom random) {
+        int i = this.next++;
+        int j = i + random.nextInt(this.sites.length - i);
+        int site = this.sites[j];
+        this.sites[j] = this.sites[i];
+        this.sites[i] = site;
+        return site;
+    }
+
+    // shuffles up to 'count' more positions into place and returns the end of the shuffled prefix
+    int advance(SplittableRandom random, int count) {
+        int end = Math.min(this.sites.length, this.next + count);
+        while (this.next < end) this.next(random);
+        return end;
+    }
+
+    int[] sites() {
+        return this.sites;
+    }
+}
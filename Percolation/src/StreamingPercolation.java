@@ -0,0 +1,100 @@
+import java.util.Arrays;
+
+// Percolation over a grid that arrives one row at a time. Only the component labels
+// of the last row are kept (Hoshen-Kopelman relabelling), so memory is O(n).
+public class StreamingPercolation {
+    private static final int TOPPED = 1;
+
+    private final int n;
+    private final PercolationUF uf;
+    private int[] labels;
+    private int[] next;
+    private boolean[] topped;
+    private boolean[] nextTopped;
+    private final int[] relabel;
+    private int rows;
+    private boolean percolates;
+
+    public StreamingPercolation(int n) {
+        if (n <= 0 || n > Integer.MAX_VALUE / 2)
+            throw new IllegalArgumentException("Invalid 'n' = '" + n + "' value");
+
+        this.n = n;
+        // nodes [0, n) are the labels of the previous row, [n, 2n) the cells of the new one
+        this.uf = new PercolationUF(2 * n);
+        this.labels = new int[n];
+        this.next = new int[n];
+        this.topped = new boolean[n];
+        this.nextTopped = new boolean[n];
+        this.relabel = new int[2 * n];
+        Arrays.fill(this.labels, -1);
+        this.rows = 0;
+        this.percolates = false;
+    }
+
+    public boolean addRow(boolean[] row) {
+        if (row == null) throw new IllegalArgumentException("Argument is 'null'.");
+        if (row.length != this.n)
+            throw new IllegalArgumentException("Invalid row length '" + row.length + "'.");
+
+        this.uf.reset();
+        for (int label = 0; label < this.n; label++)
+            if (this.topped[label]) this.uf.flag(label, TOPPED);
+
+        for (int col = 0; col < this.n; col++) {
+            if (!row[col]) continue;
+
+            int root = this.n + col;
+            if (this.rows == 0) this.uf.flag(root, TOPPED);
+            if (col > 0 && row[col - 1]) root = this.uf.merge(root, this.n + col - 1);
+            if (this.labels[col] >= 0) this.uf.merge(root, this.labels[col]);
+        }
+
+        Arrays.fill(this.relabel, -1);
+        Arrays.fill(this.nextTopped, false);
+        int count = 0;
+        boolean reached = false;
+        for (int col = 0; col < this.n; col++) {
+            if (!row[col]) {
+                this.next[col] = -1;
+                continue;
+            }
+
+            int root = this.uf.find(this.n + col);
+            if (this.relabel[root] < 0) {
+                this.relabel[root] = count;
+                this.nextTopped[count] = (this.uf.flags(root) & TOPPED) != 0;
+                count++;
+            }
+            this.next[col] = this.relabel[root];
+            reached |= this.nextTopped[this.next[col]];
+        }
+
+        int[] swap = this.labels;
+        this.labels = this.next;
+        this.next = swap;
+        boolean[] swapTopped = this.topped;
+        this.topped = this.nextTopped;
+        this.nextTopped = swapTopped;
+
+        this.rows++;
+        this.percolates = reached;
+        return reached;
+    }
+
+    // whether a site of the last row read is connected to the top row
+    public boolean isFull(int col) {
+        if (col > this.n || col < 1) throw new IllegalArgumentException("Invalid 'col' arg.");
+        int label = this.labels[col - 1];
+        return label >= 0 && this.topped[label];
+    }
+
+    public int rows() {
+        return this.rows;
+    }
+
+    // whether a top-connected component reaches the last row read so far
+    public boolean percolates() {
+        return this.percolates;
+    }
+}
@@ -0,0 +1,167 @@
+import java.util.ArrayDeque;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+class TrialEngine {
+    // trials are grouped into fixed blocks, each with its own RNG stream split off
+    // the seed in block order, so results do not depend on the number of threads
+    static final int BLOCK = 32;
+    // blocks in flight per thread; finished blocks are merged and dropped in order, so
+    // memory does not grow with the number of trials
+    private static final int WINDOW = 4;
+
+    interface Trial {
+        double run(SplittableRandom random);
+    }
+
+    private final int parallelism;
+
+    TrialEngine(int parallelism) {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("Invalid 'parallelism' = '" + parallelism + "' value");
+
+        this.parallelism = parallelism;
+    }
+
+    // every worker thread gets its own trial instance, so trials may keep reusable state
+    Accumulator run(Supplier<Trial> factory, int trials, long seed) {
+        return this.run(factory, trials, seed, null, null);
+    }
+
+    // resumes from 'checkpoint' if it exists and keeps it up to date; 'progress' gets a
+    // copy of the statistics so far after every block; either may be null
+    Accumulator run(Supplier<Trial> factory, int trials, long seed, Checkpoint checkpoint,
+                    Consumer<Accumulator> progress) {
+        ThreadLocal<Trial> trial = ThreadLocal.withInitial(factory);
+        Accumulator total = new Accumulator();
+        int done = checkpoint == null ? 0 : checkpoint.restore(seed, trials, total);
+
+        SplittableRandom root = new SplittableRandom(seed);
+        for (int i = 0; i < done; i++) root.split();
+
+        ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        ArrayDeque<Future<Accumulator>> blocks = new ArrayDeque<>();
+        AtomicBoolean stop = new AtomicBoolean();
+        int window = WINDOW * this.parallelism;
+
+        try {
+            for (int from = done * BLOCK; from < trials || !blocks.isEmpty(); ) {
+                while (from < trials && blocks.size() < window) {
+                    int count = Math.min(BLOCK, trials - from);
+                    SplittableRandom random = root.split();
+                    blocks.add(pool.submit(() -> runBlock(trial.get(), count, random, stop)));
+                    from += count;
+                }
+
+                total.merge(await(blocks.poll()));
+                done++;
+                if (checkpoint != null) checkpoint.update(seed, trials, done, total);
+                if (progress != null) progress.accept(new Accumulator(total));
+            }
+            if (checkpoint != null) checkpoint.save(seed, trials, done, total);
+            return total;
+        } finally {
+            cancel(pool, blocks, stop);
+        }
+    }
+
+    // runs batches of one block per thread until 'enough' holds or 'budgetMillis' is spent;
+    // 'enough' is tested after every block in order, so for a given seed the number of
+    // trials it stops at does not depend on the number of threads. That holds for the
+    // 'enough' rule only: when the budget runs out the run returns the blocks merged so
+    // far, whatever the threads had reached, once the running trials have finished
+    Accumulator run(Supplier<Trial> factory, long seed, Predicate<Accumulator> enough, long budgetMillis) {
+        if (budgetMillis <= 0)
+            throw new IllegalArgumentException("Invalid 'budget' = '" + budgetMillis + "' value");
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        ThreadLocal<Trial> trial = ThreadLocal.withInitial(factory);
+        Accumulator total = new Accumulator();
+        SplittableRandom root = new SplittableRandom(seed);
+        ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        ArrayDeque<Future<Accumulator>> blocks = new ArrayDeque<>();
+        AtomicBoolean stop = new AtomicBoolean();
+
+        try {
+            while (total.count() <= Integer.MAX_VALUE - (long) BLOCK * this.parallelism) {
+                for (int i = 0; i < this.parallelism; i++) {
+                    SplittableRandom random = root.split();
+                    blocks.add(pool.submit(() -> runBlock(trial.get(), BLOCK, random, stop)));
+                }
+
+                while (!blocks.isEmpty()) {
+                    Accumulator block = await(blocks.peek(), deadline);
+                    if (block == null) return total;
+                    blocks.poll();
+                    total.merge(block);
+                    if (enough.test(total)) return total;
+                }
+                if (deadline - System.nanoTime() <= 0) return total;
+            }
+            return total;
+        } finally {
+            cancel(pool, blocks, stop);
+        }
+    }
+
+    private static Accumulator await(Future<Accumulator> block) {
+        try {
+            return block.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Trials were interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Trial failed.", e.getCause());
+        }
+    }
+
+    // null if 'block' is not done by 'deadline' (a System.nanoTime value)
+    private static Accumulator await(Future<Accumulator> block, long deadline) {
+        try {
+            return block.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Trials were interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Trial failed.", e.getCause());
+        }
+    }
+
+    // stops the blocks still in flight after their current trial and waits for them, so
+    // no trial instance is in use once 'run' returns or throws
+    private static void cancel(ForkJoinPool pool, ArrayDeque<Future<Accumulator>> blocks, AtomicBoolean stop) {
+        stop.set(true);
+        boolean interrupted = false;
+        for (Future<Accumulator> block : blocks) {
+            while (true) {
+                try {
+                    block.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    break;
+                }
+            }
+        }
+        pool.shutdownNow();
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    // a stopped block returns early; its partial result is never merged
+    private static Accumulator runBlock(Trial trial, int count, SplittableRandom random, AtomicBoolean stop) {
+        Accumulator accumulator = new Accumulator();
+        for (int i = 0; i < count && !stop.get(); i++) accumulator.add(trial.run(random));
+        return accumulator;
+    }
+}
@@ -0,0 +1,36 @@
+import org.openjdk.jmh.infra.Blackhole;
+
+import permutation.Workload;
+
+// Default-package side of permutation.DequeBenchmark for the linked Deque.
+public class LinkedDequeWorkload implements Workload {
+    private Deque<Integer> deque;
+
+    @Override
+    public void fill(Integer[] items, int size) {
+        this.deque = new Deque<>();
+        for (int i = 0; i < size; i++) this.deque.addLast(items[i % items.length]);
+    }
+
+    @Override
+    public void queue(Integer[] items, Blackhole blackhole) {
+        for (Integer item : items) {
+            this.deque.addLast(item);
+            blackhole.consume(this.deque.removeFirst());
+        }
+    }
+
+    @Override
+    public void stack(Integer[] items, Blackhole blackhole) {
+        Deque<Integer> deque = new Deque<>();
+        for (Integer item : items) deque.addFirst(item);
+        while (!deque.isEmpty()) blackhole.consume(deque.removeFirst());
+    }
+
+    @Override
+    public long iterate() {
+        long sum = 0;
+        for (Integer item : this.deque) sum += item;
+        return sum;
+    }
+}
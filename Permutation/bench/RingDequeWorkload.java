@@ -0,0 +1,36 @@
+import org.openjdk.jmh.infra.Blackhole;
+
+import permutation.Workload;
+
+// Default-package side of permutation.DequeBenchmark for the array-backed RingDeque.
+public class RingDequeWorkload implements Workload {
+    private RingDeque<Integer> deque;
+
+    @Override
+    public void fill(Integer[] items, int size) {
+        this.deque = new RingDeque<>();
+        for (int i = 0; i < size; i++) this.deque.addLast(items[i % items.length]);
+    }
+
+    @Override
+    public void queue(Integer[] items, Blackhole blackhole) {
+        for (Integer item : items) {
+            this.deque.addLast(item);
+            blackhole.consume(this.deque.removeFirst());
+        }
+    }
+
+    @Override
+    public void stack(Integer[] items, Blackhole blackhole) {
+        RingDeque<Integer> deque = new RingDeque<>();
+        for (Integer item : items) deque.addFirst(item);
+        while (!deque.isEmpty()) blackhole.consume(deque.removeFirst());
+    }
+
+    @Override
+    public long iterate() {
+        long sum = 0;
+        for (Integer item : this.deque) sum += item;
+        return sum;
+    }
+}
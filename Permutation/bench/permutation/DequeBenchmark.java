@@ -0,0 +1,121 @@
+package permutation;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// linked Deque against the array-backed RingDeque on the same work-queue patterns
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DequeBenchmark {
+    private static final int OPERATIONS = 1 << 16;
+
+    @State(Scope.Thread)
+    public static class Filled {
+        @Param({"1000", "100000", "1000000"})
+        int size;
+
+        Workload linked;
+        Workload ring;
+        Integer[] items;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            this.items = items();
+            this.linked = Workload.create("LinkedDequeWorkload");
+            this.ring = Workload.create("RingDequeWorkload");
+            this.linked.fill(this.items, this.size);
+            this.ring.fill(this.items, this.size);
+        }
+    }
+
+    // the stack benchmarks build their own deque, so they need no pre-filled one
+    @State(Scope.Thread)
+    public static class Empty {
+        Workload linked;
+        Workload ring;
+        Integer[] items;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            this.items = items();
+            this.linked = Workload.create("LinkedDequeWorkload");
+            this.ring = Workload.create("RingDequeWorkload");
+        }
+    }
+
+    private static Integer[] items() {
+        Integer[] items = new Integer[OPERATIONS];
+        for (int i = 0; i < OPERATIONS; i++) items[i] = i;
+        return items;
+    }
+
+    // steady-state FIFO: one add at the back, one removal at the front
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public void linkedQueue(Filled state, Blackhole blackhole) {
+        state.linked.queue(state.items, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public void ringQueue(Filled state, Blackhole blackhole) {
+        state.ring.queue(state.items, blackhole);
+    }
+
+    // fills and drains at the front, which exercises growth and shrinking
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public void linkedStack(Empty state, Blackhole blackhole) {
+        state.linked.stack(state.items, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public void ringStack(Empty state, Blackhole blackhole) {
+        state.ring.stack(state.items, blackhole);
+    }
+
+    @Benchmark
+    public long linkedIterate(Filled state) {
+        return state.linked.iterate();
+    }
+
+    @Benchmark
+    public long ringIterate(Filled state) {
+        return state.ring.iterate();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(DequeBenchmark.class.getName())
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(args.length > 0 ? args[0] : "deque-benchmark.json")
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,28 @@
+package permutation;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+// What DequeBenchmark measures for one deque implementation. JMH only accepts
+// benchmarks in a named package, and a named package cannot refer to the
+// default-package deques, so the work is done by default-package classes looked up
+// once by name.
+public interface Workload {
+    static Workload create(String name) {
+        try {
+            return (Workload) Class.forName(name).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(name + " is not on the class path.", e);
+        }
+    }
+
+    // fills the deque under test with 'size' items, cycling through 'items'
+    void fill(Integer[] items, int size);
+
+    // one add at the back and one removal at the front of the filled deque per item
+    void queue(Integer[] items, Blackhole blackhole);
+
+    // pushes every item at the front of a new deque, then pops them all
+    void stack(Integer[] items, Blackhole blackhole);
+
+    long iterate();
+}
@@ -0,0 +1,114 @@
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Chase-Lev work-stealing deque. One owner thread pushes and pops at the front
+// ('addFirst', 'removeFirst'); any thread may take from the back ('removeLast')
+// without locking, racing only on a CAS of the back index. The circular array grows
+// as needed and is never shrunk. A stolen slot is not cleared, since the owner may
+// already be reusing it, so a stolen item stays reachable until it is overwritten.
+public class ConcurrentDeque<Item> {
+    private static final Object EMPTY = new Object();
+    private static final Object ABORT = new Object();
+
+    private final AtomicLong top;
+    private volatile long bottom;
+    private volatile Object[] arr;
+
+    public ConcurrentDeque() {
+        this.top = new AtomicLong();
+        this.bottom = 0;
+        this.arr = new Object[16];
+    }
+
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    // a snapshot that may already be stale when other threads are stealing
+    public int size() {
+        long size = this.bottom - this.top.get();
+        return size <= 0 ? 0 : (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    private static Object[] grow(Object[] arr, long top, long bottom) {
+        Object[] resized = new Object[2 * arr.length];
+        for (long i = top; i < bottom; i++)
+            resized[(int) i & (resized.length - 1)] = arr[(int) i & (arr.length - 1)];
+        return resized;
+    }
+
+    // owner only
+    public void addFirst(Item item) {
+        if (item == null)
+            throw new IllegalArgumentException("Argument is 'null'.");
+
+        long b = this.bottom;
+        long t = this.top.get();
+        Object[] arr = this.arr;
+        if (b - t >= arr.length - 1) {
+            arr = grow(arr, t, b);
+            this.arr = arr;
+        }
+        arr[(int) b & (arr.length - 1)] = item;
+        this.bottom = b + 1;
+    }
+
+    // owner only; returns null when the deque is empty
+    public Item pollFirst() {
+        long b = this.bottom - 1;
+        Object[] arr = this.arr;
+        this.bottom = b;
+        long t = this.top.get();
+        long size = b - t;
+
+        if (size < 0) {
+            this.bottom = t;
+            return null;
+        }
+
+        int index = (int) b & (arr.length - 1);
+        Object item = arr[index];
+        if (size > 0) {
+            arr[index] = null;
+            return (Item) item;
+        }
+
+        // the last item: race the thieves for it
+        if (!this.top.compareAndSet(t, t + 1)) item = null;
+        this.bottom = t + 1;
+        return (Item) item;
+    }
+
+    public Item removeFirst() {
+        Item item = this.pollFirst();
+        if (item == null)
+            throw new NoSuchElementException("Deque is empty.");
+        return item;
+    }
+
+    private Object steal() {
+        long t = this.top.get();
+        long b = this.bottom;
+        if (b - t <= 0) return EMPTY;
+
+        Object[] arr = this.arr;
+        Object item = arr[(int) t & (arr.length - 1)];
+        return this.top.compareAndSet(t, t + 1) ? item : ABORT;
+    }
+
+    // any thread; returns null when the deque is empty
+    public Item pollLast() {
+        Object item;
+        do {
+            item = this.steal();
+        } while (item == ABORT);
+        return item == EMPTY ? null : (Item) item;
+    }
+
+    public Item removeLast() {
+        Item item = this.pollLast();
+        if (item == null)
+            throw new NoSuchElementException("Deque is empty.");
+        return item;
+    }
+}
@@ -0,0 +1,122 @@
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Randomized queue for many threads. Items are spread over striped sub-arrays, each
+// with its own lock and RNG, and there is no global lock. Every item goes to a random
+// stripe, so stripes stay balanced in expectation whoever enqueues, and dequeue()
+// and sample() read a random non-empty stripe, uniformly within it; together that
+// makes them approximately uniform over all items.
+public class ConcurrentRandomizedQueue<Item> {
+    private final Stripe<Item>[] stripes;
+    private final LongAdder size;
+
+    private static class Stripe<Item> {
+        private final ReentrantLock lock;
+        private final SplittableRandom random;
+        private Item[] arr;
+        private int size;
+
+        private Stripe(SplittableRandom random) {
+            this.lock = new ReentrantLock();
+            this.random = random;
+            this.arr = (Item[]) new Object[2];
+            this.size = 0;
+        }
+
+        private void resize(int capacity) {
+            Item[] resized = (Item[]) new Object[capacity];
+            System.arraycopy(this.arr, 0, resized, 0, this.size);
+            this.arr = resized;
+        }
+
+        private void enqueue(Item item) {
+            if (this.size == this.arr.length)
+                this.resize(2 * this.size);
+            this.arr[this.size++] = item;
+        }
+
+        private Item dequeue() {
+            int index = this.random.nextInt(this.size);
+            Item data = this.arr[index];
+            this.arr[index] = this.arr[--this.size];
+            this.arr[this.size] = null;
+            if (this.size > 0 && this.size <= this.arr.length / 4)
+                this.resize(this.arr.length / 2);
+            return data;
+        }
+
+        private Item sample() {
+            return this.arr[this.random.nextInt(this.size)];
+        }
+    }
+
+    public ConcurrentRandomizedQueue() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ConcurrentRandomizedQueue(int concurrency) {
+        if (concurrency <= 0)
+            throw new IllegalArgumentException("Invalid 'concurrency' = '" + concurrency + "' value");
+
+        int count = Integer.highestOneBit(Math.min(concurrency, 1 << 16) * 2 - 1);
+        SplittableRandom root = new SplittableRandom();
+        this.stripes = (Stripe<Item>[]) new Stripe<?>[count];
+        for (int i = 0; i < count; i++) this.stripes[i] = new Stripe<>(root.split());
+        this.size = new LongAdder();
+    }
+
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    // a snapshot that may already be stale while other threads are working
+    public int size() {
+        return (int) Math.max(0, this.size.sum());
+    }
+
+    public void enqueue(Item item) {
+        if (item == null)
+            throw new IllegalArgumentException("Argument is 'null'.");
+
+        Stripe<Item> stripe = this.stripes[ThreadLocalRandom.current().nextInt(this.stripes.length)];
+        stripe.lock.lock();
+        try {
+            stripe.enqueue(item);
+        } finally {
+            stripe.lock.unlock();
+        }
+        this.size.increment();
+    }
+
+    // tries every stripe once, starting from a random one
+    private Item take(boolean remove) {
+        int start = ThreadLocalRandom.current().nextInt(this.stripes.length);
+
+        for (int i = 0; i < this.stripes.length; i++) {
+            Stripe<Item> stripe = this.stripes[(start + i) & (this.stripes.length - 1)];
+            stripe.lock.lock();
+            try {
+                if (stripe.size > 0) {
+                    if (!remove) return stripe.sample();
+                    this.size.decrement();
+                    return stripe.dequeue();
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+
+        throw new NoSuchElementException("Queue is empty.");
+    }
+
+    public Item dequeue() {
+        return this.take(true);
+    }
+
+    public Item sample() {
+        return this.take(false);
+    }
+}
@@ -1,3 +1,4 @@
+import java.util.ConcurrentModificationException;
 import java.util.NoSuchElementException;
 import java.util.Iterator;
 import edu.princeton.cs.algs4.StdIn;
@@ -7,6 +8,7 @@ public class Deque<Item> implements Iterable<Item> {
     private Node<Item> first;
     private Node<Item> last;
     private int size;
+    private int modCount;
 
     private static class Node<Item> {
         private final Item item;
@@ -20,10 +22,12 @@ public class Deque<Item> implements Iterable<Item> {
         }
     }
 
-    private static class DequeIterator<Item> implements Iterator<Item> {
+    private class DequeIterator implements Iterator<Item> {
+        private final int expectedModCount;
         private Node<Item> elem;
 
         private DequeIterator(Node<Item> elem) {
+            this.expectedModCount = Deque.this.modCount;
             this.elem = elem;
         }
 
@@ -42,6 +46,9 @@ public class Deque<Item> implements Iterable<Item> {
             if (!this.hasNext())
                 throw new NoSuchElementException("Nothing to iterate in deque.");
 
+            if (this.expectedModCount != Deque.this.modCount)
+                throw new ConcurrentModificationException("Iterator was invalidated.");
+
             Item data = this.elem.item;
             this.elem = this.elem.next;
             return data;
@@ -52,6 +59,7 @@ public class Deque<Item> implements Iterable<Item> {
         this.first = null;
         this.last = null;
         this.size = 0;
+        this.modCount = 0;
     }
 
     public boolean isEmpty() {
@@ -71,6 +79,7 @@ public class Deque<Item> implements Iterable<Item> {
         if (this.isEmpty()) this.last = this.first;
         else old.prev = this.first;
         this.size++;
+        this.modCount++;
     }
 
     public void addLast(Item item) {
@@ -82,6 +91,7 @@ public class Deque<Item> implements Iterable<Item> {
         if (this.isEmpty()) this.first = this.last;
         else old.next = this.last;
         this.size++;
+        this.modCount++;
     }
 
     public Item removeFirst() {
@@ -93,6 +103,7 @@ public class Deque<Item> implements Iterable<Item> {
         this.size--;
         if (this.isEmpty()) this.last = null;
         else this.first.prev = null;
+        this.modCount++;
         return data;
     }
 
@@ -105,12 +116,116 @@ public class Deque<Item> implements Iterable<Item> {
         this.size--;
         if (this.isEmpty()) this.first = null;
         else this.last.next = null;
+        this.modCount++;
         return data;
     }
 
+    // links 'items' into a chain in one pass, validating them all before anything changes
+    private Deque<Item> chain(Item[] items) {
+        if (items == null)
+            throw new IllegalArgumentException("Argument is 'null'.");
+        for (Item item : items)
+            if (item == null) throw new IllegalArgumentException("Argument contains 'null'.");
+
+        Deque<Item> chain = new Deque<>();
+        for (Item item : items) {
+            Node<Item> node = new Node<>(item, null, chain.last);
+            if (chain.last == null) chain.first = node;
+            else chain.last.next = node;
+            chain.last = node;
+        }
+        chain.size = items.length;
+        return chain;
+    }
+
+    private void validateOther(Deque<Item> other) {
+        if (other == null)
+            throw new IllegalArgumentException("Argument is 'null'.");
+        if (other == this)
+            throw new IllegalArgumentException("Can't splice a deque into itself.");
+    }
+
+    private void clear() {
+        this.first = null;
+        this.last = null;
+        this.size = 0;
+        this.modCount++;
+    }
+
+    // adds 'items' in order in front of the current first item
+    public void addAllFirst(Item[] items) {
+        this.addAllFirst(this.chain(items));
+    }
+
+    public void addAllLast(Item[] items) {
+        this.addAllLast(this.chain(items));
+    }
+
+    // moves every item of 'other' in front of the current first item in O(1), leaving 'other' empty
+    public void addAllFirst(Deque<Item> other) {
+        this.validateOther(other);
+        if (other.isEmpty()) return;
+
+        if (this.isEmpty()) {
+            this.last = other.last;
+        } else {
+            other.last.next = this.first;
+            this.first.prev = other.last;
+        }
+        this.first = other.first;
+        this.size += other.size;
+        this.modCount++;
+        other.clear();
+    }
+
+    // moves every item of 'other' after the current last item in O(1), leaving 'other' empty
+    public void addAllLast(Deque<Item> other) {
+        this.validateOther(other);
+        if (other.isEmpty()) return;
+
+        if (this.isEmpty()) {
+            this.first = other.first;
+        } else {
+            this.last.next = other.first;
+            other.first.prev = this.last;
+        }
+        this.last = other.last;
+        this.size += other.size;
+        this.modCount++;
+        other.clear();
+    }
+
+    // cuts the first 'k' items off in O(k) and returns them as a new deque
+    public Deque<Item> removeFirst(int k) {
+        if (k < 0)
+            throw new IllegalArgumentException("Invalid 'k' = '" + k + "' value");
+        if (k > this.size)
+            throw new NoSuchElementException("Deque has fewer than " + k + " items.");
+
+        Deque<Item> removed = new Deque<>();
+        if (k == 0) return removed;
+        if (k == this.size) {
+            removed.addAllLast(this);
+            return removed;
+        }
+
+        Node<Item> cut = this.first;
+        for (int i = 1; i < k; i++) cut = cut.next;
+
+        removed.first = this.first;
+        removed.last = cut;
+        removed.size = k;
+        this.first = cut.next;
+        this.first.prev = null;
+        cut.next = null;
+        this.size -= k;
+        this.modCount++;
+        return removed;
+    }
+
     @Override
     public Iterator<Item> iterator() {
-        return new DequeIterator<>(this.first);
+        return new DequeIterator(this.first);
     }
 
     public static void main(String[] args) {
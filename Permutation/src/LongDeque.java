@@ -0,0 +1,186 @@
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import edu.princeton.cs.algs4.StdIn;
+import edu.princeton.cs.algs4.StdOut;
+
+// RingDeque specialised for long values, which are stored unboxed.
+public class LongDeque implements Iterable<Long> {
+    private static final int MIN_CAPACITY = 2;
+
+    private long[] arr;
+    private int head;
+    private int size;
+    private int modCount;
+
+    private class LongDequeIterator implements PrimitiveIterator.OfLong {
+        private final int expectedModCount;
+        private int i;
+
+        private LongDequeIterator() {
+            this.expectedModCount = LongDeque.this.modCount;
+            this.i = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.i != LongDeque.this.size;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("'remove' is not supported.");
+        }
+
+        @Override
+        public long nextLong() {
+            if (this.expectedModCount != LongDeque.this.modCount)
+                throw new ConcurrentModificationException("Iterator was invalidated.");
+
+            if (!this.hasNext())
+                throw new NoSuchElementException("Nothing to iterate in deque.");
+
+            long[] arr = LongDeque.this.arr;
+            return arr[(LongDeque.this.head + this.i++) & (arr.length - 1)];
+        }
+    }
+
+    public LongDeque() {
+        this.arr = new long[MIN_CAPACITY];
+        this.head = 0;
+        this.size = 0;
+        this.modCount = 0;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    private void resize(int capacity) {
+        assert this.size <= capacity && Integer.bitCount(capacity) == 1;
+
+        long[] resized = new long[capacity];
+        int tail = Math.min(this.size, this.arr.length - this.head);
+        System.arraycopy(this.arr, this.head, resized, 0, tail);
+        System.arraycopy(this.arr, 0, resized, tail, this.size - tail);
+        this.arr = resized;
+        this.head = 0;
+    }
+
+    private void ensureCapacity(int size) {
+        if (size < 0 || size > 1 << 30) throw new IllegalStateException("Deque is too large.");
+        if (size <= this.arr.length) return;
+
+        int capacity = this.arr.length;
+        while (capacity < size) capacity *= 2;
+        this.resize(capacity);
+    }
+
+    private void shrink() {
+        if (this.arr.length > MIN_CAPACITY && this.size <= this.arr.length / 4)
+            this.resize(Math.max(MIN_CAPACITY, Integer.highestOneBit(this.size) * 2));
+    }
+
+    public void addFirst(long item) {
+        this.ensureCapacity(this.size + 1);
+        this.head = (this.head - 1) & (this.arr.length - 1);
+        this.arr[this.head] = item;
+        this.size++;
+        this.modCount++;
+    }
+
+    public void addLast(long item) {
+        this.ensureCapacity(this.size + 1);
+        this.arr[(this.head + this.size) & (this.arr.length - 1)] = item;
+        this.size++;
+        this.modCount++;
+    }
+
+    // appends every item in order with at most one resize and two array copies
+    public void addAll(long[] items) {
+        if (items == null)
+            throw new IllegalArgumentException("Argument is 'null'.");
+
+        this.ensureCapacity(this.size + items.length);
+        int tail = (this.head + this.size) & (this.arr.length - 1);
+        int first = Math.min(items.length, this.arr.length - tail);
+        System.arraycopy(items, 0, this.arr, tail, first);
+        System.arraycopy(items, first, this.arr, 0, items.length - first);
+        this.size += items.length;
+        if (items.length > 0) this.modCount++;
+    }
+
+    public long removeFirst() {
+        if (this.isEmpty())
+            throw new NoSuchElementException("Deque is empty.");
+
+        long data = this.arr[this.head];
+        this.head = (this.head + 1) & (this.arr.length - 1);
+        this.size--;
+        this.modCount++;
+        this.shrink();
+        return data;
+    }
+
+    public long removeLast() {
+        if (this.isEmpty())
+            throw new NoSuchElementException("Deque is empty.");
+
+        long data = this.arr[(this.head + this.size - 1) & (this.arr.length - 1)];
+        this.size--;
+        this.modCount++;
+        this.shrink();
+        return data;
+    }
+
+    // removes up to 'target.length' items from the front into 'target' and returns how many
+    public int drainTo(long[] target) {
+        if (target == null)
+            throw new IllegalArgumentException("Argument is 'null'.");
+
+        int count = Math.min(target.length, this.size);
+        int first = Math.min(count, this.arr.length - this.head);
+        System.arraycopy(this.arr, this.head, target, 0, first);
+        System.arraycopy(this.arr, 0, target, first, count - first);
+        this.head = (this.head + count) & (this.arr.length - 1);
+        this.size -= count;
+        if (count > 0) this.modCount++;
+        this.shrink();
+        return count;
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong iterator() {
+        return new LongDequeIterator();
+    }
+
+    public static void main(String[] args) {
+        LongDeque deque = new LongDeque();
+
+        while (!StdIn.isEmpty()) {
+            String[] query = StdIn.readLine().split(" ");
+
+            if (query[0].equals("add")) {
+                if (query[1].equals("front"))
+                    deque.addFirst(Long.parseLong(query[2]));
+                else
+                    deque.addLast(Long.parseLong(query[2]));
+            } else {
+                if (query[1].equals("front"))
+                    StdOut.printf("removed front: '%d'\n", deque.removeFirst());
+                else
+                    StdOut.printf("removed back: '%d'\n", deque.removeLast());
+            }
+
+            StdOut.printf("Deque is of size: %d\n", deque.size());
+            for (PrimitiveIterator.OfLong it = deque.iterator(); it.hasNext(); ) {
+                StdOut.print(it.nextLong() + " ");
+            }
+            StdOut.println();
+        }
+    }
+}
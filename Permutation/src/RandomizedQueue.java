@@ -8,19 +8,70 @@ import edu.princeton.cs.algs4.StdRandom;
 public class RandomizedQueue<Item> implements Iterable<Item> {
     private Item[] arr;
     private int size;
+    private int modCount;
+    private int[] swaps;
 
+    // Walks the live array in the order of an incremental Fisher-Yates shuffle over
+    // its indices. Only the positions the shuffle has swapped are kept, in an
+    // open-addressing table (key 'position + 1', 0 marks an empty slot) that grows
+    // with the items read, so reading k items costs O(k) time and memory.
     private class RandomizedQueueIterator implements Iterator<Item> {
-        private final Item[] data;
+        private final int expectedModCount;
+        private int[] keys;
+        private int[] values;
+        private int entries;
         private int i;
 
-        private RandomizedQueueIterator(Item[] data) {
-            this.data = data;
+        private RandomizedQueueIterator() {
+            this.expectedModCount = RandomizedQueue.this.modCount;
+            this.keys = new int[8];
+            this.values = new int[8];
+            this.entries = 0;
             this.i = 0;
         }
 
+        private int slot(int[] keys, int position) {
+            int mask = keys.length - 1;
+            int hash = position * 0x9E3779B9;
+            int slot = (hash ^ hash >>> 16) & mask;
+            while (keys[slot] != 0 && keys[slot] != position + 1) slot = (slot + 1) & mask;
+            return slot;
+        }
+
+        private int index(int position) {
+            int slot = this.slot(this.keys, position);
+            return this.keys[slot] == 0 ? position : this.values[slot];
+        }
+
+        private void put(int position, int index) {
+            int slot = this.slot(this.keys, position);
+            if (this.keys[slot] == 0) {
+                if (2 * (this.entries + 1) > this.keys.length) {
+                    this.grow();
+                    slot = this.slot(this.keys, position);
+                }
+                this.keys[slot] = position + 1;
+                this.entries++;
+            }
+            this.values[slot] = index;
+        }
+
+        private void grow() {
+            int[] keys = new int[2 * this.keys.length];
+            int[] values = new int[keys.length];
+            for (int slot = 0; slot < this.keys.length; slot++) {
+                if (this.keys[slot] == 0) continue;
+                int moved = this.slot(keys, this.keys[slot] - 1);
+                keys[moved] = this.keys[slot];
+                values[moved] = this.values[slot];
+            }
+            this.keys = keys;
+            this.values = values;
+        }
+
         @Override
         public boolean hasNext() {
-            return this.i != this.data.length;
+            return this.i != RandomizedQueue.this.size;
         }
 
         @Override
@@ -30,13 +81,19 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
 
         @Override
         public Item next() {
+            if (this.expectedModCount != RandomizedQueue.this.modCount)
+                throw new ConcurrentModificationException("Iterator was invalidated.");
+
             if (!this.hasNext())
                 throw new NoSuchElementException("Nothing to iterate in queue.");
 
-            if (this.data.length != RandomizedQueue.this.size)
-                throw new ConcurrentModificationException("Iterator was invalidated.");
+            // position 'i' is never read again, so only the swapped-in side is recorded
+            int position = this.i + StdRandom.uniform(RandomizedQueue.this.size - this.i);
+            int index = this.index(position);
+            if (position != this.i) this.put(position, this.index(this.i));
 
-            return this.data[this.i++];
+            this.i++;
+            return RandomizedQueue.this.arr[index];
         }
     }
 
@@ -59,6 +116,7 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
         Item[] resized = (Item[]) new Object[capacity];
         System.arraycopy(this.arr, 0, resized, 0, this.size);
         this.arr = resized;
+        if (this.swaps != null && this.swaps.length > capacity) this.swaps = null;
     }
 
     public void enqueue(Item item) {
@@ -68,6 +126,7 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
         if (this.size == this.arr.length)
             this.resize(2 * this.size);
         this.arr[this.size++] = item;
+        this.modCount++;
     }
 
     public Item dequeue() {
@@ -78,6 +137,7 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
         Item data = this.arr[index];
         this.arr[index] = this.arr[--this.size];
         this.arr[this.size] = null;
+        this.modCount++;
         if (this.size > 0 && this.size <= this.arr.length / 4)
             this.resize(this.arr.length / 2);
         return data;
@@ -90,12 +150,72 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
         return this.arr[StdRandom.uniform(this.size)];
     }
 
+    private void validate(Item[] target, int k) {
+        if (target == null)
+            throw new IllegalArgumentException("Argument is 'null'.");
+        if (k < 0 || k > target.length)
+            throw new IllegalArgumentException("Invalid 'k' = '" + k + "' value");
+    }
+
+    // removes 'k' random items into the start of 'target', resizing at most once
+    public void dequeue(Item[] target, int k) {
+        this.validate(target, k);
+        if (k > this.size)
+            throw new NoSuchElementException("Queue has fewer than " + k + " items.");
+        if (k == 0) return;
+
+        for (int i = 0; i < k; i++) {
+            int index = StdRandom.uniform(this.size);
+            target[i] = this.arr[index];
+            this.arr[index] = this.arr[--this.size];
+            this.arr[this.size] = null;
+        }
+        this.modCount++;
+
+        // per-item 'dequeue' halves on every size down to 1, never on reaching 0
+        int capacity = this.arr.length;
+        int floor = Math.max(this.size, 1);
+        while (floor <= capacity / 4) capacity /= 2;
+        if (capacity != this.arr.length) this.resize(capacity);
+    }
+
+    // 'k' distinct random items into the start of 'target': a partial Fisher-Yates
+    // whose swaps are undone afterwards, so the queue and its iterators are untouched;
+    // the swap log is kept between calls and dropped when the queue shrinks below it
+    public void sample(Item[] target, int k) {
+        this.validate(target, k);
+        if (k > this.size)
+            throw new NoSuchElementException("Queue has fewer than " + k + " items.");
+
+        if (this.swaps == null || this.swaps.length < k) this.swaps = new int[k];
+        int[] swaps = this.swaps;
+        for (int i = 0; i < k; i++) {
+            int index = i + StdRandom.uniform(this.size - i);
+            swaps[i] = index;
+            Item item = this.arr[index];
+            this.arr[index] = this.arr[i];
+            this.arr[i] = item;
+            target[i] = item;
+        }
+        for (int i = k - 1; i >= 0; i--) {
+            Item item = this.arr[swaps[i]];
+            this.arr[swaps[i]] = this.arr[i];
+            this.arr[i] = item;
+        }
+    }
+
+    // 'k' independent random items into the start of 'target'
+    public void sampleWithReplacement(Item[] target, int k) {
+        this.validate(target, k);
+        if (k > 0 && this.isEmpty())
+            throw new NoSuchElementException("Queue is empty.");
+
+        for (int i = 0; i < k; i++) target[i] = this.arr[StdRandom.uniform(this.size)];
+    }
+
     @Override
     public Iterator<Item> iterator() {
-        Item[] data = (Item[]) new Object[this.size];
-        System.arraycopy(this.arr, 0, data, 0, this.size);
-        StdRandom.shuffle(data);
-        return new RandomizedQueueIterator(data);
+        return new RandomizedQueueIterator();
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,159 @@
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import edu.princeton.cs.algs4.StdIn;
+import edu.princeton.cs.algs4.StdOut;
+
+// Deque over a circular array whose capacity is a power of two, so positions wrap
+// with a mask. The array doubles when full and halves at a quarter full, which keeps
+// every operation amortised O(1) without allocating per element.
+public class RingDeque<Item> implements Iterable<Item> {
+    private static final int MIN_CAPACITY = 2;
+
+    private Item[] arr;
+    private int head;
+    private int size;
+    private int modCount;
+
+    private class RingDequeIterator implements Iterator<Item> {
+        private final int expectedModCount;
+        private int i;
+
+        private RingDequeIterator() {
+            this.expectedModCount = RingDeque.this.modCount;
+            this.i = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.i != RingDeque.this.size;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("'remove' is not supported.");
+        }
+
+        @Override
+        public Item next() {
+            if (this.expectedModCount != RingDeque.this.modCount)
+                throw new ConcurrentModificationException("Iterator was invalidated.");
+
+            if (!this.hasNext())
+                throw new NoSuchElementException("Nothing to iterate in deque.");
+
+            Item[] arr = RingDeque.this.arr;
+            return arr[(RingDeque.this.head + this.i++) & (arr.length - 1)];
+        }
+    }
+
+    public RingDeque() {
+        this.arr = (Item[]) new Object[MIN_CAPACITY];
+        this.head = 0;
+        this.size = 0;
+        this.modCount = 0;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    // unwraps the elements to the start of the new array
+    private void resize(int capacity) {
+        assert this.size <= capacity && Integer.bitCount(capacity) == 1;
+
+        Item[] resized = (Item[]) new Object[capacity];
+        int tail = Math.min(this.size, this.arr.length - this.head);
+        System.arraycopy(this.arr, this.head, resized, 0, tail);
+        System.arraycopy(this.arr, 0, resized, tail, this.size - tail);
+        this.arr = resized;
+        this.head = 0;
+    }
+
+    private void shrink() {
+        if (this.arr.length > MIN_CAPACITY && this.size <= this.arr.length / 4)
+            this.resize(this.arr.length / 2);
+    }
+
+    public void addFirst(Item item) {
+        if (item == null)
+            throw new IllegalArgumentException("Argument is 'null'.");
+
+        if (this.size == this.arr.length) this.resize(2 * this.arr.length);
+        this.head = (this.head - 1) & (this.arr.length - 1);
+        this.arr[this.head] = item;
+        this.size++;
+        this.modCount++;
+    }
+
+    public void addLast(Item item) {
+        if (item == null)
+            throw new IllegalArgumentException("Argument is 'null'.");
+
+        if (this.size == this.arr.length) this.resize(2 * this.arr.length);
+        this.arr[(this.head + this.size) & (this.arr.length - 1)] = item;
+        this.size++;
+        this.modCount++;
+    }
+
+    public Item removeFirst() {
+        if (this.isEmpty())
+            throw new NoSuchElementException("Deque is empty.");
+
+        Item data = this.arr[this.head];
+        this.arr[this.head] = null;
+        this.head = (this.head + 1) & (this.arr.length - 1);
+        this.size--;
+        this.modCount++;
+        this.shrink();
+        return data;
+    }
+
+    public Item removeLast() {
+        if (this.isEmpty())
+            throw new NoSuchElementException("Deque is empty.");
+
+        int index = (this.head + this.size - 1) & (this.arr.length - 1);
+        Item data = this.arr[index];
+        this.arr[index] = null;
+        this.size--;
+        this.modCount++;
+        this.shrink();
+        return data;
+    }
+
+    @Override
+    public Iterator<Item> iterator() {
+        return new RingDequeIterator();
+    }
+
+    public static void main(String[] args) {
+        RingDeque<String> deque = new RingDeque<>();
+
+        while (!StdIn.isEmpty()) {
+            String[] query = StdIn.readLine().split(" ");
+
+            if (query[0].equals("add")) {
+                if (query[1].equals("front"))
+                    deque.addFirst(query[2]);
+                else
+                    deque.addLast(query[2]);
+            } else {
+                if (query[1].equals("front"))
+                    StdOut.printf("removed front: '%s'\n", deque.removeFirst());
+                else
+                    StdOut.printf("removed back: '%s'\n", deque.removeLast());
+            }
+
+            StdOut.printf("Deque is of size: %d\n", deque.size());
+            for (String item : deque) {
+                StdOut.print(item + " ");
+            }
+            StdOut.println();
+        }
+    }
+}